@@ -107,6 +107,39 @@ public class GenerateEntityTypes
 
     String entitytypecommonTemplate;
     String       uidfactoryTemplate;
+    String  entitytypesuppliersTemplate;
+    String     entitytypeindexTemplate;
+
+    /** class name of generated registries creating entities by uid, numbered when a package needs several */
+    static final String SUPPLIER_REGISTRY_CLASS_NAME = "EntityTypeSuppliers";
+
+    /** entities per registry class, keeping each create() method and constant pool well within class file limits */
+    static final int MAXIMUM_SUPPLIERS_PER_REGISTRY = 2000;
+
+    /** entity class names by uid for each entity package, written to registries after parsing */
+    private final Map<String, SupplierRegistryData> supplierRegistries = new TreeMap<>();
+
+    /** largest entity uid written */
+    private int maximumEntityUid = 0;
+
+    /** binary resource holding sorted reverse index from packed wire-level entity type to uid and description */
+    static final String ENTITY_TYPE_INDEX_RESOURCE_NAME = "entityTypeIndex.bin";
+
+    /** reverse index entries, sorted by packed key and written after parsing */
+    private final List<EntityTypeIndexEntry> entityTypeIndexEntries = new ArrayList<>();
+
+    class EntityTypeIndexEntry
+    {
+      long key;
+      int uid;
+      String description;
+    }
+
+    class SupplierRegistryData
+    {
+      File directory;
+      Map<Integer, String> classNames = new LinkedHashMap<>(); // by uid, in order written
+    }
     String          licenseTemplate;
 
     class TypeClassData
@@ -664,6 +697,7 @@ public class GenerateEntityTypes
        uid2ClassWriter.close();
     }
     saveUidFactory();
+    saveEntityTypeIndex();
     System.out.println (GenerateEntityTypes.class.getName() + " complete."); // TODO  + handler.enums.size() + " enums created.");
   }
 
@@ -681,6 +715,11 @@ public class GenerateEntityTypes
         licenseTemplate          = loadOneTemplate("../pdus/dis7javalicense.txt");
       entitytypecommonTemplate = loadOneTemplate("../entitytypes/" + languageFolder + "/entitytypecommon.txt");
       uidfactoryTemplate       = loadOneTemplate("../entitytypes/" + languageFolder + "/uidfactory.txt");
+      if (language.equals(JAVA))
+      {
+        entitytypesuppliersTemplate = loadOneTemplate("../entitytypes/entitytypesuppliers.txt");
+        entitytypeindexTemplate     = loadOneTemplate("../entitytypes/entitytypeindex.txt");
+      }
     }
     catch (Exception ex) {
       throw new RuntimeException(ex);
@@ -702,7 +741,86 @@ public class GenerateEntityTypes
   
   private void saveUidFactory()
   {
-    saveFile(outputDirectory, "EntityTypeFactory.java",uidfactoryTemplate);
+    if (!language.equals(JAVA))
+    {
+      saveFile(outputDirectory, "EntityTypeFactory.java",uidfactoryTemplate);
+      return;
+    }
+    StringBuilder registryClassNames = new StringBuilder();
+    for (Map.Entry<String, SupplierRegistryData> entry : supplierRegistries.entrySet())
+    {
+      SupplierRegistryData registry = entry.getValue();
+      List<Map.Entry<Integer, String>> entities = new ArrayList<>(registry.classNames.entrySet());
+      for (int first = 0; first < entities.size(); first += MAXIMUM_SUPPLIERS_PER_REGISTRY)
+      {
+        String registryClassName = supplierRegistryClassName(first);
+        StringBuilder uids  = new StringBuilder();
+        StringBuilder cases = new StringBuilder();
+        int last = Math.min(first + MAXIMUM_SUPPLIERS_PER_REGISTRY, entities.size());
+        for (int index = first; index < last; index++)
+        {
+          boolean lineStart = ((index - first) % 10 == 0);
+          uids.append(lineStart ? "        " : " ").append(entities.get(index).getKey()).append(',');
+          if (((index - first) % 10 == 9) || (index == last - 1))
+            uids.append('\n');
+          // entity class is referenced only here, so it is loaded on first creation rather than at registration
+          cases.append("            case ").append(entities.get(index).getKey()).append(":\n")
+               .append("                return new ").append(entities.get(index).getValue()).append("();\n");
+        }
+        saveFile(registry.directory, registryClassName + ".java",
+                 licenseTemplate + String.format(entitytypesuppliersTemplate, entry.getKey(), packageName, registryClassName, uids, registryClassName, cases));
+        registryClassNames.append("        \"").append(entry.getKey()).append('.').append(registryClassName).append("\",\n");
+      }
+    }
+    saveFile(outputDirectory, "EntityTypeFactory.java",
+             String.format(uidfactoryTemplate, packageName, maximumEntityUid, registryClassNames));
+  }
+
+  /**
+   * Write sorted reverse index as binary resource (count, keys, uids, descriptions) alongside generated EntityTypeIndex class
+   */
+  private void saveEntityTypeIndex()
+  {
+    if (!language.equals(JAVA))
+      return;
+    entityTypeIndexEntries.sort(Comparator.comparingLong(entry -> entry.key));
+    List<EntityTypeIndexEntry> uniqueEntries = new ArrayList<>(entityTypeIndexEntries.size());
+    for (EntityTypeIndexEntry entry : entityTypeIndexEntries)
+    {
+      if (!uniqueEntries.isEmpty() && (uniqueEntries.get(uniqueEntries.size() - 1).key == entry.key))
+      {
+        System.err.println("saveEntityTypeIndex() duplicate entity type, ignoring uid=" + entry.uid + " " + entry.description);
+        continue;
+      }
+      uniqueEntries.add(entry);
+    }
+    File resourceFile = new File(outputDirectory, ENTITY_TYPE_INDEX_RESOURCE_NAME);
+    try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(resourceFile))))
+    {
+      dos.writeInt(uniqueEntries.size());
+      for (EntityTypeIndexEntry entry : uniqueEntries)
+        dos.writeLong(entry.key);
+      for (EntityTypeIndexEntry entry : uniqueEntries)
+        dos.writeInt(entry.uid);
+      for (EntityTypeIndexEntry entry : uniqueEntries)
+        dos.writeUTF(entry.description);
+    }
+    catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+    saveFile(outputDirectory, "EntityTypeIndex.java",
+             licenseTemplate + String.format(entitytypeindexTemplate, packageName, ENTITY_TYPE_INDEX_RESOURCE_NAME, ENTITY_TYPE_INDEX_RESOURCE_NAME));
+  }
+
+  /**
+   * Name of registry class within a package
+   * @param first index of first entity registered by this class
+   * @return EntityTypeSuppliers, EntityTypeSuppliers2, etc.
+   */
+  private String supplierRegistryClassName(int first)
+  {
+    int number = first / MAXIMUM_SUPPLIERS_PER_REGISTRY + 1;
+    return (number == 1) ? SUPPLIER_REGISTRY_CLASS_NAME : SUPPLIER_REGISTRY_CLASS_NAME + number;
   }
   
   class DescriptionElem
@@ -1121,6 +1239,60 @@ public class GenerateEntityTypes
       }
     }
     
+    private void addToSupplierRegistry(TypeClassData data, String uid)
+    {
+      int uidValue;
+      try {
+        uidValue = Integer.parseInt(uid.trim());
+      }
+      catch (NumberFormatException | NullPointerException ex) {
+        System.err.println("addToSupplierRegistry() skipping " + data.pkg + "." + data.className + ", invalid uid=" + uid);
+        return;
+      }
+      maximumEntityUid = Math.max(maximumEntityUid, uidValue);
+      SupplierRegistryData registry = supplierRegistries.computeIfAbsent(data.pkg, pkg -> new SupplierRegistryData());
+      registry.directory = data.directory;
+      registry.classNames.put(uidValue, data.className); // last class written for a uid wins
+    }
+
+    /**
+     * Record current entity type for reverse index, levels below the one being saved are zero
+     * @param uid SISO uid of entity being saved
+     */
+    private void addToEntityTypeIndex(String uid)
+    {
+      EntityTypeIndexEntry entry = new EntityTypeIndexEntry();
+      try {
+        entry.uid = Integer.parseInt(uid.trim());
+        entry.key = (parseValue(currentEntity.kind)       << 56) |
+                    (parseValue(currentEntity.domain)     << 48) |
+                    (parseValue(currentEntity.country)    << 32) |
+                    (parseValue(currentCategory)          << 24) |
+                    (parseValue(currentSubCategory)       << 16) |
+                    (parseValue(currentSpecific)          <<  8) |
+                     parseValue(currentExtra);
+      }
+      catch (NumberFormatException | NullPointerException ex) {
+        System.err.println("addToEntityTypeIndex() skipping uid=" + uid + ", " + ex.getMessage());
+        return;
+      }
+      DescriptionElem deepest = (currentExtra       != null) ? currentExtra       :
+                                (currentSpecific    != null) ? currentSpecific    :
+                                (currentSubCategory != null) ? currentSubCategory : currentCategory;
+      entry.description = (deepest == null) ? "" : deepest.description;
+      entityTypeIndexEntries.add(entry);
+    }
+
+    private long parseValue(DescriptionElem elem)
+    {
+      return (elem == null) ? 0L : parseValue(elem.value);
+    }
+
+    private long parseValue(String value)
+    {
+      return Long.parseLong(value.trim());
+    }
+
     private void buildUid2ClassWriter() throws IOException
     {
       File f = new File(outputDirectory,"uid2EntityClass.properties");
@@ -1160,7 +1332,10 @@ public class GenerateEntityTypes
 
         saveFile(data.directory, data.className + fileExtension, data.sb.toString());
         
-        addToPropertiesFile(data.pkg, data.className, uid);
+        if (!language.equals(JAVA)) // Java EntityTypeFactory uses generated registries rather than uid2EntityClass.properties
+          addToPropertiesFile(data.pkg, data.className, uid);
+        addToSupplierRegistry(data, uid);
+        addToEntityTypeIndex(uid);
         
         packageInfoPath = data.directory + "/" + "package-info.java";
         File   packageInfoFile = new File(packageInfoPath);
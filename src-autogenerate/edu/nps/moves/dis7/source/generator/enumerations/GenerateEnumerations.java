@@ -55,6 +55,9 @@ public class GenerateEnumerations
     private String disenumpart2Template;
     private String disenumpart21Template;
     private String disenumpart25Template;
+    private String disenumlookupdenseTemplate;
+    private String disenumlookupsparseTemplate;
+    private String disenumunrecognizedTemplate;
     private String disenumpart3_8Template;
     private String disenumpart3_16Template;
     private String disenumpart3_32Template;
@@ -67,6 +70,7 @@ public class GenerateEnumerations
     private String disbitset2Template;
     private String disbitsetcommentxrefTemplate;
     private String disbitsetcommentTemplate;
+    private String disdomainenumerationTemplate;
     private String licenseTemplate;
 
     private static String       sisoSpecificationTitleDate = "";
@@ -74,7 +78,17 @@ public class GenerateEnumerations
     // https://stackoverflow.com/questions/11883043/does-an-enum-class-containing-20001-enum-constants-hit-any-limit
     final int MAX_ENUMERATIONS = 2000;
 
+    // enumerations with all values in [0, MAX_DENSE_LOOKUP_SIZE) get a dense array lookup table, others a hashed table
+    final int MAX_DENSE_LOOKUP_SIZE = 4096;
+
+    // bitfields of at most this many bits extend primitive-backed DisBitField rather than DisBitSet
+    final int MAX_PRIMITIVE_BITFIELD_SIZE = 64;
+
     private int additionalEnumClassesCreated = 0;
+
+    // sealed interface injected via interfaceInjection.properties, generated after the enumerations that implement it
+    static final String DOMAIN_ENUMERATION_INTERFACE = "DomainEnumeration";
+    private final List<String> domainEnumerationClassNames = new ArrayList<>();
     
     private String        packageInfoPath;
     private File          packageInfoFile;
@@ -196,8 +210,34 @@ public class GenerateEnumerations
         MyHandler handler = new MyHandler();
         factory.newSAXParser().parse(xmlFile, handler); // apparently can't reuse xmlFile
 
+        writeDomainEnumerationInterface();
+
         System.out.println (GenerateEnumerations.class.getName() + " complete, " + (handler.enums.size() + additionalEnumClassesCreated) + " enum classes created.");
     }
+    /**
+     * Write sealed DomainEnumeration interface permitting exactly the domain enumerations generated,
+     * if any, which Domain uses for direct dispatch
+     */
+    private void writeDomainEnumerationInterface()
+    {
+        if (domainEnumerationClassNames.isEmpty())
+            return;
+        StringBuilder sb = new StringBuilder();
+        sb.append(licenseTemplate);
+        sb.append(String.format(disdomainenumerationTemplate, packageName, sisoSpecificationTitleDate,
+                                String.join(", ", domainEnumerationClassNames)));
+        File targetFile = new File(outputDirectory, DOMAIN_ENUMERATION_INTERFACE + ".java");
+        try (OutputStreamWriter targetFileWriter = new OutputStreamWriter(new FileOutputStream(targetFile), StandardCharsets.UTF_8))
+        {
+            targetFileWriter.write(sb.toString());
+        }
+        catch (IOException ex) {
+            System.out.flush();
+            System.err.println (ex.getMessage() + " targetFile.getAbsolutePath()=" + targetFile.getAbsolutePath());
+            ex.printStackTrace(System.err);
+        }
+    }
+
         /**
          * Replace special characters in name with underscore _ character
          * @param name name value (typically from XML)
@@ -248,6 +288,9 @@ public class GenerateEnumerations
             disenumpart2Template               = loadOneTemplate("disenumpart2.txt");
             disenumpart21Template              = loadOneTemplate("disenumpart21.txt");
             disenumpart25Template              = loadOneTemplate("disenumpart25.txt");
+            disenumlookupdenseTemplate         = loadOneTemplate("disenumlookupdense.txt");
+            disenumlookupsparseTemplate        = loadOneTemplate("disenumlookupsparse.txt");
+            disenumunrecognizedTemplate        = loadOneTemplate("disenumunrecognized.txt");
             disenumpart3_32Template            = loadOneTemplate("disenumpart3_32.txt");
             disenumpart3_16Template            = loadOneTemplate("disenumpart3_16.txt");
             disenumpart3_8Template             = loadOneTemplate("disenumpart3_8.txt");
@@ -260,6 +303,7 @@ public class GenerateEnumerations
             disbitset2Template                 = loadOneTemplate("disbitset2.txt");
             disbitsetcommentxrefTemplate       = loadOneTemplate("disbitsetcommentxref.txt");
             disbitsetcommentTemplate           = loadOneTemplate("disbitsetcomment.txt");
+            disdomainenumerationTemplate       = loadOneTemplate("disdomainenumeration.txt");
             licenseTemplate                    = loadOneTemplate("../pdus/dis7javalicense.txt");
         }
         catch (Exception ex) {
@@ -651,10 +695,15 @@ public class GenerateEnumerations
       
             String otherInf = uid2ExtraInterface.get(el.uid);
 
+            // bitfields up to 64 bits are held in a primitive long, wider ones in a java.util.BitSet
+            String baseClass = "DisBitSet";
+            if ((el.size != null) && (Integer.parseInt(el.size) <= MAX_PRIMITIVE_BITFIELD_SIZE))
+                baseClass = "DisBitField";
+
             sb.append(String.format(disbitset1Template, 
                 packageName, sisoSpecificationTitleDate, 
                 "UID " + el.uid, el.size, 
-                el.name, classNameCorrected, 
+                el.name, classNameCorrected, baseClass,
                 (otherInf==null?"":"implements "+otherInf)));
             enumNames.clear();
             if (el.elems.size() > MAX_ENUMERATIONS)
@@ -689,7 +738,8 @@ public class GenerateEnumerations
                 sb.setLength(sb.length() - 2);
             sb.append(";\n");
 
-            sb.append(String.format(disbitset2Template, classNameCorrected, el.size, classNameCorrected, classNameCorrected, classNameCorrected, classNameCorrected, classNameCorrected));
+            int marshalledSize = (Integer.parseInt(el.size) + Byte.SIZE - 1) / Byte.SIZE;
+            sb.append(String.format(disbitset2Template, marshalledSize, classNameCorrected, el.size, classNameCorrected, classNameCorrected, classNameCorrected, classNameCorrected, classNameCorrected));
 
             // save file
             File targetFile = new File(outputDirectory, classNameCorrected + ".java");
@@ -753,6 +803,8 @@ public class GenerateEnumerations
             String additionalInterface = "";
             String otherIf = interfaceInjection.getProperty(clsName);
             String otherIf2 = uid2ExtraInterface.get(el.uid);
+            if (DOMAIN_ENUMERATION_INTERFACE.equals(otherIf))
+                domainEnumerationClassNames.add(classNameCorrected);
             
             if(otherIf != null | otherIf2 != null) {
                 StringBuilder ifsb = new StringBuilder("implements ");
@@ -856,6 +908,7 @@ public class GenerateEnumerations
 //                    additionalRowElements.clear();
 //                }
             }
+            sb.append(disenumunrecognizedTemplate); // sentinel for lenient decoding, always last
             if (el.elems.size() > 0)
                 sb.setLength(sb.length() - 2);
             sb.append(";\n");
@@ -863,7 +916,8 @@ public class GenerateEnumerations
             if (el.size == null)
                 el.size = "8";
 
-            sb.append(String.format(disenumpart25Template, classNameCorrected, el.size, classNameCorrected, classNameCorrected, classNameCorrected, classNameCorrected));
+            sb.append(String.format(disenumpart25Template, classNameCorrected, classNameCorrected, el.size, classNameCorrected, classNameCorrected, classNameCorrected));
+            writeEnumLookup(sb, classNameCorrected, el.elems);
 
             // footer section
             // Many enums come in with smaller bit widths or in-between bitwidths;  Leave handling the odd balls up to the user 
@@ -909,10 +963,12 @@ public class GenerateEnumerations
                   writeOneEnum(additionalRowStringBuilder, row, enumName);
                 }
             } /* ); */
+            additionalRowStringBuilder.append(disenumunrecognizedTemplate); // sentinel for lenient decoding, always last
             additionalRowStringBuilder.setLength(additionalRowStringBuilder.length() - 2);
             additionalRowStringBuilder.append("; /*here*/\n");
 
-            additionalRowStringBuilder.append(String.format(disenumpart25Template, classNameCorrected, el.size, classNameCorrected, classNameCorrected, classNameCorrected, classNameCorrected));
+            additionalRowStringBuilder.append(String.format(disenumpart25Template, classNameCorrected, classNameCorrected, el.size, classNameCorrected, classNameCorrected, classNameCorrected));
+            writeEnumLookup(additionalRowStringBuilder, classNameCorrected, additionalRowElements);
 
             // footer section
             // Many enums come in with smaller bit widths or in-between bitwidths;  Leave handling the odd balls up to the user
@@ -958,6 +1014,42 @@ public class GenerateEnumerations
     }
         
         
+      /**
+       * Choose lookup table for getEnumForValue() from the values known at generation time:
+       * dense array indexed by value when values are small and non-negative, otherwise open-addressing hash table.
+       * @param sb output
+       * @param className enumeration class name
+       * @param rows enumeration rows written to this class
+       */
+      private void writeEnumLookup(StringBuilder sb, String className, List<EnumRowElem> rows)
+      {
+        long minimumValue = 0; // empty enumerations get a SELF element with value 0
+        long maximumValue = 0;
+        for (EnumRowElem row : rows)
+        {
+            long value;
+            try {
+                value = Long.parseLong(row.value.trim());
+            }
+            catch (NumberFormatException ex) {
+                value = -1; // unexpected format, let hashed table handle it
+            }
+            minimumValue = Math.min(minimumValue, value);
+            maximumValue = Math.max(maximumValue, value);
+        }
+        if ((minimumValue >= 0) && (maximumValue < MAX_DENSE_LOOKUP_SIZE))
+        {
+            sb.append(String.format(disenumlookupdenseTemplate, className, className, (int) maximumValue + 1, className, className));
+        }
+        else
+        {
+            int capacity = 2;
+            while (capacity < 2 * rows.size())
+                capacity <<= 1;
+            sb.append(String.format(disenumlookupsparseTemplate, capacity, className, className, className, className, className));
+        }
+      }
+
       private void writeOneEnum(StringBuilder sb, EnumRowElem row, String enumName)
       {
         String xrefName = null;
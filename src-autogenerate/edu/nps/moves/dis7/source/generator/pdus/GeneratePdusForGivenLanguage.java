@@ -59,6 +59,7 @@ public class GeneratePdusForGivenLanguage  // TODO rename? perhaps GeneratePdusB
     /** String constant */ public static final String OBJECTLIST = "objectlist";
     /** String constant */ public static final String LENGTH = "length";
     /** String constant */ public static final String FIXEDLENGTH = "fixedlength";
+    /** String constant */ public static final String SIZE = "size";
     /** String constant */ public static final String COULDBESTRING = "couldbestring";
     /** String constant */ public static final String TRUE = "true";
     /** String constant */ public static final String FALSE = "false";
@@ -823,6 +824,9 @@ public class GeneratePdusForGivenLanguage  // TODO rename? perhaps GeneratePdusB
                         }
                         currentClassAttribute.setComment((s==null?"":s)+" "+attributes.getValue(idx));
                         break;
+                    case SIZE: // bits
+                        currentClassAttribute.setEnumMarshalSize(attributes.getValue(idx));
+                        break;
                     case DEFAULTVALUE:
                         currentClassAttribute.setDefaultValue(attributes.getValue(idx));
                         break;
@@ -9,11 +9,14 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * This class autogenerates Java source code from XML PDU definitions, specifically 
@@ -52,7 +55,60 @@ public class JavaGenerator extends AbstractGenerator
      */
     Properties primitiveSizes = new Properties();
     Map<String,Integer> primitiveSizesMap = new HashMap<>();
-    
+
+    /**
+     * Special-case classes whose instances are immutable and shared (for example cached Domain singletons).
+     * Fields of these types are reassigned when unmarshalled, and shared rather than duplicated when copied.
+     */
+    static final Set<String> IMMUTABLE_CLASSREF_TYPES = Set.of("Domain");
+
+    /**
+     * Classes replaced by hand-written supporting code, which provide their own unmarshal(ByteBuffer, int)
+     * with absolute reads.  Flattened unmarshal methods invoke it rather than assigning fields directly.
+     */
+    static final Set<String> SUPPORTING_CLASSREF_TYPES = Set.of("PduStatus");
+
+    /**
+     * Whether generated classes are thread confined, set by -Dxmlpg.threadConfined=true.
+     * Thread-confined classes omit method-level synchronized locking, and are shared across threads
+     * instead as immutable copies produced by freeze(), see writeFreezeMethods().
+     */
+    boolean threadConfined = false;
+
+    /**
+     * Method modifier emitted for accessors, marshalling and comparison methods: "synchronized " by default,
+     * empty when generating thread-confined classes.
+     */
+    String synchronizedModifier = "synchronized ";
+
+    /**
+     * Whether unmarshal(ByteBuffer) methods are flattened, set by -Dxmlpg.flatCodecs=true.
+     * Fixed-layout fields, including those of nested records, are then read with absolute indices
+     * following a single bounds check, see writeFlatUnmarshalMethodWithByteBuffer().
+     */
+    boolean flatCodecs = false;
+
+    /**
+     * Whether fixed nested records of PDUs are stored inline, set by -Dxmlpg.inlineRecords=true.
+     * Each field of such a record becomes a primitive field of the owning PDU with its own accessors,
+     * for example entityLocationX, and the record object is only materialized on request, see inlineFixedRecords().
+     */
+    boolean inlineRecords = false;
+
+    /** Record attributes replaced by inline primitive fields, keyed by name of owning class */
+    private final Map<String, List<InlinedRecord>> inlinedRecords = new HashMap<>();
+
+    /** A record attribute of a PDU whose fields are stored inline */
+    private static class InlinedRecord
+    {
+        /** original CLASSREF attribute, for example entityLocation */
+        GeneratedClassAttribute attribute;
+        /** PRIMITIVE attributes of the record class, for example x, y and z */
+        List<GeneratedClassAttribute> fields = new ArrayList<>();
+        /** inline PRIMITIVE attributes of the owning class, for example entityLocationX, in the same order */
+        List<GeneratedClassAttribute> inlineFields = new ArrayList<>();
+    }
+
     /**
      * A property list that contains java-specific code generation information, such as package names, imports, etc.
      */
@@ -87,6 +143,19 @@ public class JavaGenerator extends AbstractGenerator
             super.setGeneratedSourceDirectoryName(clDirectory);
 
             System.out.println("Source code directory set to " + clDirectory);
+
+            threadConfined = Boolean.parseBoolean(systemProperties.getProperty("xmlpg.threadConfined", "false"));
+            if (threadConfined)
+            {
+                synchronizedModifier = "";
+                System.out.println("Thread-confined classes, method-level synchronized omitted, share freeze() copies across threads");
+            }
+            flatCodecs = Boolean.parseBoolean(systemProperties.getProperty("xmlpg.flatCodecs", "false"));
+            if (flatCodecs)
+                System.out.println("Flattened unmarshal(ByteBuffer) methods with absolute reads and a single bounds check");
+            inlineRecords = Boolean.parseBoolean(systemProperties.getProperty("xmlpg.inlineRecords", "false"));
+            if (inlineRecords)
+                System.out.println("Fixed nested records of PDUs stored as inline primitive fields with in-place accessors");
         }
         catch (Exception e) {
             System.err.println("Required property not set. Modify the XML file to include the missing property");
@@ -173,11 +242,15 @@ public class JavaGenerator extends AbstractGenerator
     public void writeClasses()
     {
         int classCount = 0;
+        int  viewCount = 0;
         
         readTemplates();  // get the license
         
         createGeneratedSourceDirectory(true); // boolean: whether to clean out prior files, if any exist in that directory
 
+        if (inlineRecords)
+            inlineFixedRecords(); // before any class is written, so that subclasses and views see the same layout
+
         Iterator classDescriptionsIterator = classDescriptions.values().iterator();
 
         while (classDescriptionsIterator.hasNext()) {
@@ -215,6 +288,12 @@ public class JavaGenerator extends AbstractGenerator
                 // System.out.println("trying to make class "+name);
                 this.writeClass(pw, aClass);
                 classCount++;
+
+                if (hasViewClass(aClass))
+                {
+                    writeViewClass(aClass, aClassFullPath.substring(0, aClassFullPath.length() - ".java".length()) + "View.java");
+                    viewCount++;
+                }
             }
             catch (IOException e) {
                 e.printStackTrace(System.err);
@@ -222,6 +301,9 @@ public class JavaGenerator extends AbstractGenerator
             }
 
         } // End while
+
+        writePduSuppliers();
+        writePduVisitor();
         
         packageInfoPath = getGeneratedSourceDirectoryName() + "/edu/nps/moves/dis7/pdus/" + "package-info.java";
         packageInfoFile = new File(packageInfoPath);
@@ -264,10 +346,295 @@ public class JavaGenerator extends AbstractGenerator
             ex.printStackTrace(System.err);
         }
         
-        System.out.println (JavaGenerator.class.getName() + " complete, " + classCount + " classes written.");
+        System.out.println (JavaGenerator.class.getName() + " complete, " + classCount + " classes and " + viewCount + " views written.");
 
     } // End write classes
 
+    /** Name of generated class holding constructor references for each PDU type */
+    private static final String PDU_SUPPLIERS_CLASS_NAME = "PduSuppliers";
+
+    /** Prefix of pduType initial values in XML, for example DisPduType.ENTITY_STATE */
+    private static final String DIS_PDU_TYPE_PREFIX = "DisPduType.";
+
+    /** Prefix of protocolFamily initial values in XML, for example DISProtocolFamily.WARFARE */
+    private static final String DIS_PROTOCOL_FAMILY_PREFIX = "DISProtocolFamily.";
+
+    /** Name of generated interface with a visit method for each PDU class */
+    private static final String PDU_VISITOR_CLASS_NAME = "PduVisitor";
+
+    /** Primary concrete PDU class names keyed by DisPduType constant, see getPduTypeClassNames() */
+    private TreeMap<String, String> pduTypeClassNames;
+
+    /**
+     * Get the primary (non-alias) concrete PDU classes, from the pduType initial value of each class in the XML
+     * @return class names keyed and sorted by DisPduType constant, for example DisPduType.ENTITY_STATE
+     */
+    private TreeMap<String, String> getPduTypeClassNames()
+    {
+        if (pduTypeClassNames != null)
+            return pduTypeClassNames;
+        // sorted by PDU type for a stable listing
+        pduTypeClassNames = new TreeMap<>();
+        for (GeneratedClass aClass : classDescriptions.values()) {
+            if (aClass.isAbstract() || (aClass.getAliasFor() != null))
+                continue;
+            for (GeneratedInitialValue anInit : aClass.getInitialValues()) {
+                if (!anInit.getVariable().equals("pduType") || !anInit.getVariableValue().startsWith(DIS_PDU_TYPE_PREFIX))
+                    continue;
+                String previousClassName = pduTypeClassNames.putIfAbsent(anInit.getVariableValue(), aClass.getName());
+                if (previousClassName != null)
+                    System.err.println("*** " + anInit.getVariableValue() + " already assigned to " + previousClassName +
+                                       ", ignored for " + aClass.getName());
+            }
+        }
+        return pduTypeClassNames;
+    }
+
+    /**
+     * Get the abstract PDU family classes, from the protocolFamily initial value of each class in the XML
+     * @return DISProtocolFamily constants, for example DISProtocolFamily.WARFARE, keyed and sorted by class name
+     */
+    private TreeMap<String, String> getProtocolFamilyValues()
+    {
+        TreeMap<String, String> protocolFamilyValues = new TreeMap<>();
+        for (GeneratedClass aClass : classDescriptions.values()) {
+            if (!aClass.getName().endsWith("FamilyPdu"))
+                continue;
+            for (GeneratedInitialValue anInit : aClass.getInitialValues()) {
+                if (anInit.getVariable().equals("protocolFamily") && anInit.getVariableValue().startsWith(DIS_PROTOCOL_FAMILY_PREFIX))
+                    protocolFamilyValues.put(aClass.getName(), anInit.getVariableValue());
+            }
+        }
+        return protocolFamilyValues;
+    }
+
+    /**
+     * Whether a class is a primary concrete PDU class with its own visit method in the PduVisitor interface
+     * @param aClass class of interest
+     * @return whether accept() is generated for this class
+     */
+    private boolean isVisitablePdu(GeneratedClass aClass)
+    {
+        return getPduTypeClassNames().containsValue(aClass.getName());
+    }
+
+    /**
+     * Write PDU type and family tests for the Pdu class.  Each test compares the pduType or protocolFamily
+     * enumeration constant held by the instance, so no class name strings are compared.  Alias classes share
+     * the pduType of their primary class and therefore pass the same test.
+     * @param pw output
+     */
+    private void writePduTypeTests(PrintWriter pw)
+    {
+        pw.println();
+        pw.println("    // autogenerated by JavaGenerator.writePduTypeTests()");
+        pw.println();
+        pw.println("    /** Whether this instance is a Reliable Pdu with guaranteed delivery");
+        pw.println("    * @return whether reliable */");
+        pw.println("    public boolean isReliablePdu() { return protocolFamily == " + DIS_PROTOCOL_FAMILY_PREFIX + "SIMULATION_MANAGEMENT_WITH_RELIABILITY; }");
+        pw.println();
+        getProtocolFamilyValues().forEach((className, protocolFamily) -> {
+            pw.println("    /** Whether this instance has a " + className + " superclass");
+            pw.println("      * @return whether this supertype is inherited */");
+            pw.println("    public boolean is" + className + "() { return protocolFamily == " + protocolFamily + "; }");
+            pw.println();
+        });
+        TreeMap<String, String> classNamePduTypes = new TreeMap<>();
+        getPduTypeClassNames().forEach((pduType, className) -> classNamePduTypes.put(className, pduType));
+        // alias classes are tested by the pduType of their primary class
+        for (GeneratedClass aClass : classDescriptions.values()) {
+            if ((aClass.getAliasFor() != null) && classNamePduTypes.containsKey(aClass.getAliasFor()))
+                classNamePduTypes.putIfAbsent(aClass.getName(), classNamePduTypes.get(aClass.getAliasFor()));
+        }
+        classNamePduTypes.forEach((className, pduType) -> {
+            pw.println("    /** Whether this instance is a " + className);
+            pw.println("    * @return whether this type of Pdu */");
+            pw.println("    public boolean is" + className + "() { return pduType == " + pduType + "; }");
+            pw.println();
+        });
+        pw.println("    /**");
+        pw.println("     * Dispatch this instance to the matching visit method of a visitor, overridden by each concrete PDU class");
+        pw.println("     * @param visitor visitor to call");
+        pw.println("     * @see " + PDU_VISITOR_CLASS_NAME);
+        pw.println("     */");
+        pw.println("    public void accept(" + PDU_VISITOR_CLASS_NAME + " visitor)");
+        pw.println("    {");
+        pw.println("        visitor.visitDefault(this);");
+        pw.println("    }");
+        pw.println();
+    }
+
+    /**
+     * Write accept() for a concrete PDU class, calling the visit method overloaded for that class
+     * @param pw output
+     */
+    private void writeAcceptMethod(PrintWriter pw)
+    {
+        pw.println();
+        pw.println("  /**");
+        pw.println("   * Dispatch this instance to the matching visit method of a visitor");
+        pw.println("   * @param visitor visitor to call");
+        pw.println("   */");
+        pw.println("  @Override");
+        pw.println("  public void accept(" + PDU_VISITOR_CLASS_NAME + " visitor)");
+        pw.println("  {");
+        pw.println("    visitor.visit(this);");
+        pw.println("  }");
+    }
+
+    /**
+     * Write an interface with a visit method for each primary concrete PDU class, so that PDUs can be routed
+     * by a single virtual call to accept() rather than by type tests.
+     */
+    private void writePduVisitor()
+    {
+        TreeMap<String, String> classNamePduTypes = new TreeMap<>();
+        getPduTypeClassNames().forEach((pduType, className) -> classNamePduTypes.put(className, pduType));
+        StringBuilder sb = new StringBuilder();
+        classNamePduTypes.forEach((className, pduType) ->
+            sb.append("\n")
+              .append("    /**\n")
+              .append("     * Visit a ").append(className).append(", ").append(pduType).append("\n")
+              .append("     * @param pdu PDU being visited\n")
+              .append("     */\n")
+              .append("    default void visit(").append(className).append(" pdu)\n")
+              .append("    {\n")
+              .append("        visitDefault(pdu);\n")
+              .append("    }\n"));
+
+        String packageName = languageProperties.getProperty("package", "edu.nps.moves.dis7.pdus");
+        String path = getGeneratedSourceDirectoryName() + "/" + packageName.replace(".", "/") + "/" + PDU_VISITOR_CLASS_NAME + ".java";
+        try (PrintWriter pw = new PrintWriter(new File(path), StandardCharsets.UTF_8.name())) {
+            pw.println(licenseTemplate);
+            pw.print(String.format(pduVisitorTemplate, packageName, packageName, PDU_VISITOR_CLASS_NAME, sb.toString()));
+            System.out.println("Created " + path + " with " + classNamePduTypes.size() + " PDU classes");
+        }
+        catch (IOException ex) {
+            System.err.println("error creating source code " + ex);
+            ex.printStackTrace(System.err);
+        }
+    }
+
+    /**
+     * Write a class with a constructor reference for each concrete PDU class, indexed by the pduType
+     * initial value of that class in the XML, so that PduFactory can create PDUs by table lookup.
+     */
+    private void writePduSuppliers()
+    {
+        TreeMap<String, String> pduTypeClassNames = new TreeMap<>(getPduTypeClassNames());
+        // prefer the more descriptive alias subclass, if any, so that created PDUs can be cast to either name
+        for (GeneratedClass aClass : classDescriptions.values()) {
+            if (aClass.getAliasFor() != null)
+                pduTypeClassNames.replaceAll((pduType, className) -> className.equals(aClass.getAliasFor()) ? aClass.getName() : className);
+        }
+        StringBuilder sb = new StringBuilder();
+        pduTypeClassNames.forEach((pduType, className) ->
+            sb.append("        suppliers[").append(pduType).append(".getValue()] = ").append(className).append("::new;\n"));
+
+        String packageName = languageProperties.getProperty("package", "edu.nps.moves.dis7.pdus");
+        String path = getGeneratedSourceDirectoryName() + "/" + packageName.replace(".", "/") + "/" + PDU_SUPPLIERS_CLASS_NAME + ".java";
+        try (PrintWriter pw = new PrintWriter(new File(path), StandardCharsets.UTF_8.name())) {
+            pw.println(licenseTemplate);
+            pw.print(String.format(pduSuppliersTemplate, packageName, packageName, PDU_SUPPLIERS_CLASS_NAME,
+                                   PDU_SUPPLIERS_CLASS_NAME, sb.toString()));
+            System.out.println("Created " + path + " with " + pduTypeClassNames.size() + " PDU types");
+        }
+        catch (IOException ex) {
+            System.err.println("error creating source code " + ex);
+            ex.printStackTrace(System.err);
+        }
+    }
+
+    /**
+     * Replace fixed nested record attributes of PDU classes with inline primitive attributes, one per record field,
+     * named by appending the field name to the record attribute name, for example entityLocation.x becomes entityLocationX.
+     * Wire order is unchanged, so every marshal, unmarshal, copy, equality and view method handles the inline fields
+     * as ordinary primitives.  The record getter and setter are retained, see writeInlinedRecordAccessors().
+     */
+    private void inlineFixedRecords()
+    {
+        Set<String> initialValueNames = new HashSet<>();
+        for (GeneratedClass aClass : classDescriptions.values()) {
+            for (GeneratedInitialValue anInit : aClass.getInitialValues())
+                initialValueNames.add(anInit.getVariable());
+        }
+        int inlinedCount = 0;
+        for (GeneratedClass aClass : classDescriptions.values()) {
+            if (!aClass.getName().endsWith("Pdu") || (aClass.getAliasFor() != null))
+                continue;
+            Set<String> attributeNames = new HashSet<>();
+            GeneratedClass currentClass = aClass;
+            while (currentClass != null) {
+                for (GeneratedClassAttribute anAttribute : currentClass.getClassAttributes())
+                    attributeNames.add(anAttribute.getName());
+                currentClass = classDescriptions.get(currentClass.getParentClass());
+            }
+            List<GeneratedClassAttribute> attributes = new ArrayList<>();
+            for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes()) {
+                GeneratedClass recordClass = classDescriptions.get(anAttribute.getType());
+                if ((anAttribute.getAttributeKind() != ClassAttributeType.CLASSREF) || !anAttribute.shouldSerialize ||
+                     anAttribute.isHidden() || (anAttribute.getDefaultValue() != null) || (anAttribute.getInitialClass() != null) ||
+                     initialValueNames.contains(anAttribute.getName()) || !isInlinableRecord(recordClass)) {
+                    attributes.add(anAttribute);
+                    continue;
+                }
+                InlinedRecord inlinedRecord = new InlinedRecord();
+                inlinedRecord.attribute = anAttribute;
+                for (GeneratedClassAttribute aField : recordClass.getClassAttributes()) {
+                    GeneratedClassAttribute inlineField = new GeneratedClassAttribute();
+                    inlineField.setName(anAttribute.getName() + initialCapital(aField.getName()));
+                    inlineField.setAttributeKind(ClassAttributeType.PRIMITIVE);
+                    inlineField.setType(aField.getType());
+                    inlineField.setDefaultValue(aField.getDefaultValue());
+                    inlineField.setComment(((aField.getComment() == null) || aField.getComment().trim().isEmpty()) ?
+                                           "Inline field " + aField.getName() + " of " + anAttribute.getName() :
+                                           aField.getComment().trim() + ", inline field " + aField.getName() + " of " + anAttribute.getName());
+                    inlinedRecord.fields.add(aField);
+                    inlinedRecord.inlineFields.add(inlineField);
+                }
+                boolean collision = false;
+                for (GeneratedClassAttribute inlineField : inlinedRecord.inlineFields)
+                    collision |= attributeNames.contains(inlineField.getName());
+                if (collision) {
+                    System.err.println("*** " + aClass.getName() + "." + anAttribute.getName() + " not inlined, field name already defined");
+                    attributes.add(anAttribute);
+                    continue;
+                }
+                attributes.addAll(inlinedRecord.inlineFields);
+                inlinedRecords.computeIfAbsent(aClass.getName(), name -> new ArrayList<>()).add(inlinedRecord);
+                inlinedCount++;
+            }
+            aClass.getClassAttributes().clear();
+            aClass.getClassAttributes().addAll(attributes);
+        }
+        System.out.println("Inlined " + inlinedCount + " record attributes in " + inlinedRecords.size() + " PDU classes");
+    }
+
+    /**
+     * Whether fields of a record class can be stored inline: a concrete class without superclass or subclasses,
+     * all of whose attributes are plain serialized primitives
+     * @param recordClass class of interest, may be null
+     * @return whether inlineFixedRecords() applies
+     */
+    private boolean isInlinableRecord(GeneratedClass recordClass)
+    {
+        if ((recordClass == null) || recordClass.isAbstract() || (recordClass.getAliasFor() != null) ||
+            (recordClass.getSpecialCase() != null) || !recordClass.getParentClass().equalsIgnoreCase("root") ||
+            recordClass.getClassAttributes().isEmpty() ||
+            IMMUTABLE_CLASSREF_TYPES.contains(recordClass.getName()) || SUPPORTING_CLASSREF_TYPES.contains(recordClass.getName()))
+            return false;
+        for (GeneratedClass otherClass : classDescriptions.values()) {
+            if (otherClass.getParentClass().equals(recordClass.getName()))
+                return false; // polymorphic
+        }
+        for (GeneratedClassAttribute aField : recordClass.getClassAttributes()) {
+            if ((aField.getAttributeKind() != ClassAttributeType.PRIMITIVE) || !aField.shouldSerialize || aField.isHidden() ||
+                 aField.getIsDynamicListLengthField() || aField.getIsPrimitiveListLengthField() || aField.getIsBitField())
+                return false;
+        }
+        return true;
+    }
+
     /**
      * Generate a source code file with accessor methods (getters and setters), ivars, and marshal/unmarshal methods for one class.
      */
@@ -310,379 +677,7 @@ public class JavaGenerator extends AbstractGenerator
             }
             
             if (aClass.getName().equals("Pdu")) // abstract superclass methods for instances
-            {
-                String textBlock = """ 
-
-    //  =================
-                                     
-    /** Whether this instance is a Reliable Pdu with guaranteed delivery
-    * @return whether reliable */
-    public boolean isReliablePdu ()
-    {
-      return getClass().getName().endsWith("RPdu") ||      // primary class
-             getClass().getName().endsWith("ReliablePdu"); //   alias class
-    }
-    //  =================
-                                       
-    /** Whether this instance has a DistributedEmissionsRegenerationFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isDistributedEmissionsRegenerationFamilyPdu() { return getClass().getName().equals(DistributedEmissionsRegenerationFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has an EntityInformationInteractionFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isEntityInformationInteractionFamilyPdu() { return getClass().getName().equals(EntityInformationInteractionFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has an EntityManagementFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isEntityManagementFamilyPdu() { return getClass().getName().equals(EntityManagementFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has an InformationOperationsFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isInformationOperationsFamilyPdu() { return getClass().getName().equals(InformationOperationsFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a LogisticsFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isLogisticsFamilyPdu() { return getClass().getName().equals(LogisticsFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a MinefieldFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isMinefieldFamilyPdu() { return getClass().getName().equals(MinefieldFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a RadioCommunicationsFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isRadioCommunicationsFamilyPdu() { return getClass().getName().equals(RadioCommunicationsFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a SimulationManagementFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isSimulationManagementFamilyPdu() { return getClass().getName().equals(SimulationManagementFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a SimulationManagementWithReliabilityFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isSimulationManagementWithReliabilityFamilyPdu() { return getClass().getName().equals(SimulationManagementWithReliabilityFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a SyntheticEnvironmentFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isSyntheticEnvironmentFamilyPdu() { return getClass().getName().equals(SyntheticEnvironmentFamilyPdu.FAMILY_NAME); }
-
-    /** Whether this instance has a WarfareFamilyPdu superclass
-      * @return whether this supertype is inherited */
-    public boolean isWarfareFamilyPdu() { return getClass().getName().equals(WarfareFamilyPdu.FAMILY_NAME); }
-
-    //  =================
-                                   
-    /** Whether this instance is an AcknowledgeRPdu
-    * @return whether this type of Pdu */
-  public boolean isAcknowledgeRPdu() { return getClass().getName().equals(AcknowledgeRPdu.NAME) ||
-                                              getClass().getName().equals(AcknowledgeReliablePdu.NAME); }
-
-    /** Whether this instance is an ActionRequestPdu
-    * @return whether this type of Pdu */
-  public boolean isActionRequestPdu() { return getClass().getName().equals(ActionRequestPdu.NAME); }
-  
-    /** Whether this instance is an ActionRequestRPdu
-    * @return whether this type of Pdu */
-  public boolean isActionRequestRPdu() { return getClass().getName().equals(ActionRequestRPdu.NAME) ||
-                                                getClass().getName().equals(ActionRequestReliablePdu.NAME); }
-  
-    /** Whether this instance is an ActionResponsePdu
-    * @return whether this type of Pdu */
-  public boolean isActionResponsePdu() { return getClass().getName().equals(ActionResponsePdu.NAME); }
-  
-    /** Whether this instance is an ActionResponseRPdu
-    * @return whether this type of Pdu */
-  public boolean isActionResponseRPdu() { return getClass().getName().equals(ActionResponseRPdu.NAME) ||
-                                                 getClass().getName().equals(ActionResponseReliablePdu.NAME); }
-  
-    /** Whether this instance is an AggregateStatePdu
-    * @return whether this type of Pdu */
-  public boolean isAggregateStatePdu() { return getClass().getName().equals(AggregateStatePdu.NAME); }
-  
-    /** Whether this instance is an AppearancePdu
-    * @return whether this type of Pdu */
-  public boolean isAppearancePdu() { return getClass().getName().equals(AppearancePdu.NAME); }
-  
-    /** Whether this instance is an ArealObjectStatePdu
-    * @return whether this type of Pdu */
-  public boolean isArealObjectStatePdu() { return getClass().getName().equals(ArealObjectStatePdu.NAME); }
-  
-    /** Whether this instance is an ArticulatedPartsPdu
-    * @return whether this type of Pdu */
-  public boolean isArticulatedPartsPdu() { return getClass().getName().equals(ArticulatedPartsPdu.NAME); }
-  
-    /** Whether this instance is an AttributePdu
-    * @return whether this type of Pdu */
-  public boolean isAttributePdu() { return getClass().getName().equals(AttributePdu.NAME); }
-  
-    /** Whether this instance is an CollisionElasticPdu
-    * @return whether this type of Pdu */
-  public boolean isCollisionElasticPdu() { return getClass().getName().equals(CollisionElasticPdu.NAME); }
-  
-    /** Whether this instance is an CollisionPdu
-    * @return whether this type of Pdu */
-  public boolean isCollisionPdu() { return getClass().getName().equals(CollisionPdu.NAME); }
-  
-    /** Whether this instance is an CommentPdu
-    * @return whether this type of Pdu */
-  public boolean isCommentPdu() { return getClass().getName().equals(CommentPdu.NAME); }
-  
-    /** Whether this instance is an CommentRPdu
-    * @return whether this type of Pdu */
-  public boolean isCommentRPdu() { return getClass().getName().equals(CommentRPdu.NAME) ||
-                                          getClass().getName().equals(CommentReliablePdu.NAME); }
-  
-    /** Whether this instance is an CreateEntityPdu
-    * @return whether this type of Pdu */
-  public boolean isCreateEntityPdu() { return getClass().getName().equals(CreateEntityPdu.NAME); }
-  
-    /** Whether this instance is an CreateEntityRPdu
-    * @return whether this type of Pdu */
-  public boolean isCreateEntityRPdu() { return getClass().getName().equals(CreateEntityRPdu.NAME) ||
-                                               getClass().getName().equals(CreateEntityReliablePdu.NAME); }
-  
-    /** Whether this instance is an DataPdu
-    * @return whether this type of Pdu */
-  public boolean isDataPdu() { return getClass().getName().equals(DataPdu.NAME); }
-  
-    /** Whether this instance is an DataQueryPdu
-    * @return whether this type of Pdu */
-  public boolean isDataQueryPdu() { return getClass().getName().equals(DataQueryPdu.NAME); }
-  
-    /** Whether this instance is an DataQueryRPdu
-    * @return whether this type of Pdu */
-  public boolean isDataQueryRPdu() { return getClass().getName().equals(DataQueryRPdu.NAME) ||
-                                            getClass().getName().equals(DataQueryReliablePdu.NAME); }
-  
-    /** Whether this instance is an DataRPdu
-    * @return whether this type of Pdu */
-  public boolean isDataRPdu() { return getClass().getName().equals(DataRPdu.NAME) ||
-                                       getClass().getName().equals(DataReliablePdu.NAME); }
-  
-    /** Whether this instance is an DesignatorPdu
-    * @return whether this type of Pdu */
-  public boolean isDesignatorPdu() { return getClass().getName().equals(DesignatorPdu.NAME); }
-  
-    /** Whether this instance is an DetonationPdu
-    * @return whether this type of Pdu */
-  public boolean isDetonationPdu() { return getClass().getName().equals(DetonationPdu.NAME); }
-  
-    /** Whether this instance is an DirectedEnergyFirePdu
-    * @return whether this type of Pdu */
-  public boolean isDirectedEnergyFirePdu() { return getClass().getName().equals(DirectedEnergyFirePdu.NAME); }
-  
-    /** Whether this instance is an ElectromagneticEmissionPdu
-    * @return whether this type of Pdu */
-  public boolean isElectromagneticEmissionPdu() { return getClass().getName().equals(ElectromagneticEmissionPdu.NAME); }
-  
-    /** Whether this instance is an EntityDamageStatusPdu
-    * @return whether this type of Pdu */
-  public boolean isEntityDamageStatusPdu() { return getClass().getName().equals(EntityDamageStatusPdu.NAME); }
-  
-    /** Whether this instance is an EntityStatePdu
-    * @return whether this type of Pdu */
-  public boolean isEntityStatePdu() { return getClass().getName().equals(EntityStatePdu.NAME); }
-  
-    /** Whether this instance is an EntityStateUpdatePdu
-    * @return whether this type of Pdu */
-  public boolean isEntityStateUpdatePdu() { return getClass().getName().equals(EntityStateUpdatePdu.NAME); }
-  
-    /** Whether this instance is an EnvironmentalProcessPdu
-    * @return whether this type of Pdu */
-  public boolean isEnvironmentalProcessPdu() { return getClass().getName().equals(EnvironmentalProcessPdu.NAME); }
-  
-    /** Whether this instance is an EventReportPdu
-    * @return whether this type of Pdu */
-  public boolean isEventReportPdu() { return getClass().getName().equals(EventReportPdu.NAME); }
-  
-    /** Whether this instance is an EventReportRPdu
-    * @return whether this type of Pdu */
-  public boolean isEventReportRPdu() { return getClass().getName().equals(EventReportRPdu.NAME) ||
-                                              getClass().getName().equals(EventReportReliablePdu.NAME); }
-  
-    /** Whether this instance is an FirePdu
-    * @return whether this type of Pdu */
-  public boolean isFirePdu() { return getClass().getName().equals(FirePdu.NAME); }
-  
-    /** Whether this instance is an GriddedDataPdu
-    * @return whether this type of Pdu */
-  public boolean isGriddedDataPdu() { return getClass().getName().equals(GriddedDataPdu.NAME); }
-  
-    /** Whether this instance is an IFFPdu
-    * @return whether this type of Pdu */
-  public boolean isIFFPdu() { return getClass().getName().equals(IFFPdu.NAME) ||
-                                     getClass().getName().equals(IdentificationFriendOrFoePdu.NAME); }
-  
-    /** Whether this instance is an InformationOperationsActionPdu
-    * @return whether this type of Pdu */
-  public boolean isInformationOperationsActionPdu() { return getClass().getName().equals(InformationOperationsActionPdu.NAME); }
-  
-    /** Whether this instance is an InformationOperationsReportPdu
-    * @return whether this type of Pdu */
-  public boolean isInformationOperationsReportPdu() { return getClass().getName().equals(InformationOperationsReportPdu.NAME); }
-  
-    /** Whether this instance is an IntercomControlPdu
-    * @return whether this type of Pdu */
-  public boolean isIntercomControlPdu() { return getClass().getName().equals(IntercomControlPdu.NAME); }
-  
-    /** Whether this instance is an IntercomSignalPdu
-    * @return whether this type of Pdu */
-  public boolean isIntercomSignalPdu() { return getClass().getName().equals(IntercomSignalPdu.NAME); }
-  
-    /** Whether this instance is an IsGroupOfPdu
-    * @return whether this type of Pdu */
-  public boolean isIsGroupOfPdu() { return getClass().getName().equals(IsGroupOfPdu.NAME); }
-  
-    /** Whether this instance is an IsPartOfPdu
-    * @return whether this type of Pdu */
-  public boolean isIsPartOfPdu() { return getClass().getName().equals(IsPartOfPdu.NAME); }
-  
-    /** Whether this instance is an LEDetonationPdu
-    * @return whether this type of Pdu */
-  public boolean isLEDetonationPdu() { return getClass().getName().equals(LEDetonationPdu.NAME); }
-  
-    /** Whether this instance is an LEFirePdu
-    * @return whether this type of Pdu */
-  public boolean isLEFirePdu() { return getClass().getName().equals(LEFirePdu.NAME); }
-  
-    /** Whether this instance is an LinearObjectStatePdu
-    * @return whether this type of Pdu */
-  public boolean isLinearObjectStatePdu() { return getClass().getName().equals(LinearObjectStatePdu.NAME); }
-  
-    /** Whether this instance is an LiveEntityDetonationPdu
-    * @return whether this type of Pdu */
-  public boolean isLiveEntityDetonationPdu() { return getClass().getName().equals(LiveEntityDetonationPdu.NAME); }
-  
-    /** Whether this instance is an LiveEntityFirePdu
-    * @return whether this type of Pdu */
-  public boolean isLiveEntityFirePdu() { return getClass().getName().equals(LiveEntityFirePdu.NAME); }
-  
-    /** Whether this instance is an MinefieldDataPdu
-    * @return whether this type of Pdu */
-  public boolean isMinefieldDataPdu() { return getClass().getName().equals(MinefieldDataPdu.NAME); }
-  
-    /** Whether this instance is an MinefieldQueryPdu
-    * @return whether this type of Pdu */
-  public boolean isMinefieldQueryPdu() { return getClass().getName().equals(MinefieldQueryPdu.NAME); }
-  
-    /** Whether this instance is an MinefieldResponseNACKPdu
-    * @return whether this type of Pdu */
-  public boolean isMinefieldResponseNACKPdu() { return getClass().getName().equals(MinefieldResponseNACKPdu.NAME); }
-  
-    /** Whether this instance is an MinefieldStatePdu
-    * @return whether this type of Pdu */
-  public boolean isMinefieldStatePdu() { return getClass().getName().equals(MinefieldStatePdu.NAME); }
-  
-    /** Whether this instance is an PointObjectStatePdu
-    * @return whether this type of Pdu */
-  public boolean isPointObjectStatePdu() { return getClass().getName().equals(PointObjectStatePdu.NAME); }
-  
-    /** Whether this instance is an ReceiverPdu
-    * @return whether this type of Pdu */
-  public boolean isReceiverPdu() { return getClass().getName().equals(ReceiverPdu.NAME); }
-  
-    /** Whether this instance is an RecordQueryRPdu
-    * @return whether this type of Pdu */
-  public boolean isRecordQueryRPdu() { return getClass().getName().equals(RecordQueryRPdu.NAME) ||
-                                              getClass().getName().equals(RecordQueryReliablePdu.NAME); }
-  
-    /** Whether this instance is an RecordRPdu
-    * @return whether this type of Pdu */
-  public boolean isRecordRPdu() { return getClass().getName().equals(RecordRPdu.NAME) ||
-                                         getClass().getName().equals(RecordReliablePdu.NAME); }
-  
-    /** Whether this instance is an RemoveEntityPdu
-    * @return whether this type of Pdu */
-  public boolean isRemoveEntityPdu() { return getClass().getName().equals(RemoveEntityPdu.NAME); }
-  
-    /** Whether this instance is an RemoveEntityRPdu
-    * @return whether this type of Pdu */
-  public boolean isRemoveEntityRPdu() { return getClass().getName().equals(RemoveEntityRPdu.NAME) ||
-                                               getClass().getName().equals(RemoveEntityReliablePdu.NAME); }
-  
-    /** Whether this instance is an RepairCompletePdu
-    * @return whether this type of Pdu */
-  public boolean isRepairCompletePdu() { return getClass().getName().equals(RepairCompletePdu.NAME); }
-  
-    /** Whether this instance is an RepairResponsePdu
-    * @return whether this type of Pdu */
-  public boolean isRepairResponsePdu() { return getClass().getName().equals(RepairResponsePdu.NAME); }
-  
-    /** Whether this instance is an ResupplyCancelPdu
-    * @return whether this type of Pdu */
-  public boolean isResupplyCancelPdu() { return getClass().getName().equals(ResupplyCancelPdu.NAME); }
-  
-    /** Whether this instance is an ResupplyOfferPdu
-    * @return whether this type of Pdu */
-  public boolean isResupplyOfferPdu() { return getClass().getName().equals(ResupplyOfferPdu.NAME); }
-  
-    /** Whether this instance is an ResupplyReceivedPdu
-    * @return whether this type of Pdu */
-  public boolean isResupplyReceivedPdu() { return getClass().getName().equals(ResupplyReceivedPdu.NAME); }
-  
-    /** Whether this instance is an SEESPdu
-    * @return whether this type of Pdu */
-  public boolean isSEESPdu() { return getClass().getName().equals(SEESPdu.NAME) ||
-                                      getClass().getName().equals(ServiceRequestPdu.NAME); }
-  
-    /** Whether this instance is an SetDataPdu
-    * @return whether this type of Pdu */
-  public boolean isSetDataPdu() { return getClass().getName().equals(SetDataPdu.NAME); }
-  
-    /** Whether this instance is an SetDataRPdu
-    * @return whether this type of Pdu */
-  public boolean isSetDataRPdu() { return getClass().getName().equals(SetDataRPdu.NAME) ||
-                                          getClass().getName().equals(SetDataReliablePdu.NAME); }
-  
-    /** Whether this instance is an SetRecordRPdu
-    * @return whether this type of Pdu */
-  public boolean isSetRecordRPdu() { return getClass().getName().equals(SetRecordRPdu.NAME) ||
-                                            getClass().getName().equals(SetRecordReliablePdu.NAME); }
-  
-    /** Whether this instance is an SignalPdu
-    * @return whether this type of Pdu */
-  public boolean isSignalPdu() { return getClass().getName().equals(SignalPdu.NAME); }
-  
-    /** Whether this instance is an StartResumePdu
-    * @return whether this type of Pdu */
-  public boolean isStartResumePdu() { return getClass().getName().equals(StartResumePdu.NAME); }
-  
-    /** Whether this instance is an StartResumeRPdu
-    * @return whether this type of Pdu */
-  public boolean isStartResumeRPdu() { return getClass().getName().equals(StartResumeRPdu.NAME) ||
-                                              getClass().getName().equals(StartResumeReliablePdu.NAME); }
-  
-    /** Whether this instance is an StopFreezePdu
-    * @return whether this type of Pdu */
-  public boolean isStopFreezePdu() { return getClass().getName().equals(StopFreezePdu.NAME); }
-  
-    /** Whether this instance is an StopFreezeRPdu
-    * @return whether this type of Pdu */
-  public boolean isStopFreezeRPdu() { return getClass().getName().equals(StopFreezeRPdu.NAME) ||
-                                             getClass().getName().equals(StopFreezeReliablePdu.NAME); }
-  
-    /** Whether this instance is an SupplementalEmissionEntityStatePdu
-    * @return whether this type of Pdu */
-  public boolean isSupplementalEmissionEntityStatePdu() { return getClass().getName().equals(SupplementalEmissionEntityStatePdu.NAME); }
-  
-    /** Whether this instance is an TSPIPdu
-    * @return whether this type of Pdu */
-  public boolean isTSPIPdu() { return getClass().getName().equals(TSPIPdu.NAME) ||
-                                      getClass().getName().equals(TimeSpacePositionInformationPdu.NAME); }
-  
-    /** Whether this instance is an TransferOwnershipPdu
-    * @return whether this type of Pdu */
-  public boolean isTransferOwnershipPdu() { return getClass().getName().equals(TransferOwnershipPdu.NAME); }
-  
-  /** Whether this instance is an TransmitterPdu
-    * @return whether this type of Pdu */
-  public boolean isTransmitterPdu() { return getClass().getName().equals(TransmitterPdu.NAME); }
-  
-  /** Whether this instance is an UnderwaterAcousticPdu
-    * @return whether this type of Pdu */
-  public boolean isUnderwaterAcousticPdu() { return getClass().getName().equals(UnderwaterAcousticPdu.NAME); }
-
-""";
-                pw.print(textBlock);
-            }
+                writePduTypeTests(pw);
             pw.flush();
             writeIvars(pw, aClass);
             pw.flush();
@@ -692,8 +687,14 @@ public class JavaGenerator extends AbstractGenerator
             }
             writeConstructor(pw, aClass);
             pw.flush();
+            writeCopyConstructor(pw, aClass);
+            pw.flush();
             writeCopyMethods(pw, aClass);
             pw.flush();
+            writeFreezeMethods(pw, aClass);
+            pw.flush();
+            writeResetMethod(pw, aClass);
+            pw.flush();
             writeGetMarshalledSizeMethod(pw, aClass);
             pw.flush();
             writeGettersAndSetters(pw, aClass);
@@ -722,6 +723,9 @@ public class JavaGenerator extends AbstractGenerator
             writeHashCodeMethod(pw, aClass);
             pw.flush();
 
+            if (isVisitablePdu(aClass))
+                writeAcceptMethod(pw);
+
             if (aClass.getName().equals("Pdu")) {
                 writePduUtilityMethods(pw, aClass);
             } else if (aClass.getName().startsWith("EntityStatePdu")) {
@@ -753,8 +757,9 @@ public class JavaGenerator extends AbstractGenerator
             .append("  * @see edu.nps.moves.dis7.utilities.DisTime\n")
             .append("  * @param newTimestamp new timestamp in seconds\n")
             .append("  * @return same object to permit progressive setters */\n")
-            .append("public synchronized Pdu setTimestampSeconds(double newTimestamp)\n")
+            .append("public " + synchronizedModifier + "Pdu setTimestampSeconds(double newTimestamp)\n")
             .append("{\n")
+            .append("    checkNotFrozen();\n")
             .append("    timestamp = (int) ((newTimestamp * 3600.0) / Integer.MAX_VALUE);\n")
             .append("    return this;\n")
             .append("}      \n")
@@ -798,11 +803,31 @@ public class JavaGenerator extends AbstractGenerator
         pw.println(utilitySourceCodeBlock.toString());
         pw.println();
     }
+    /**
+     * Whether a record attribute of a class is stored as inline fields
+     * @param aClass class of interest
+     * @param attributeName name of record attribute
+     * @return whether inlineFixedRecords() replaced that attribute
+     */
+    private boolean isInlinedRecord(GeneratedClass aClass, String attributeName)
+    {
+        for (InlinedRecord inlinedRecord : inlinedRecords.getOrDefault(aClass.getName(), List.of())) {
+            if (inlinedRecord.attribute.getName().equals(attributeName))
+                return true;
+        }
+        return false;
+    }
+
     /** Additional methods of interest */
     private void writeEntityStateUtilityMethods(PrintWriter pw, GeneratedClass aClass)
     {
         pw.println("    // writeEntityStateUtilityMethods");
         pw.println();
+
+        // inline fields are updated in place, otherwise new records are assigned
+        boolean inlineVelocity    = isInlinedRecord(aClass, "entityLinearVelocity");
+        boolean inlineLocation    = isInlinedRecord(aClass, "entityLocation");
+        boolean inlineOrientation = isInlinedRecord(aClass, "entityOrientation");
         
         StringBuilder utilitySourceCodeBlock = new StringBuilder();
         // """multiline text block""" would be nice but that is JDK 14+
@@ -834,8 +859,9 @@ public class JavaGenerator extends AbstractGenerator
             .append("    * @param direction using Directions enumerations\n")
             .append("    * @see Direction\n")
             .append("    * @return same object to permit progressive setters */\n")
-            .append("  public final synchronized EntityStatePdu setEntityLinearVelocity (float speed, Direction direction)\n")
+            .append("  public final " + synchronizedModifier + "EntityStatePdu setEntityLinearVelocity (float speed, Direction direction)\n")
             .append("  {\n")
+            .append("      checkNotFrozen();\n")
             .append("      float xFactor = 0.0f;\n")
             .append("      float yFactor = 0.0f;\n")
             .append("      switch (direction)\n")
@@ -874,8 +900,11 @@ public class JavaGenerator extends AbstractGenerator
             .append("              System.err.println(\"*** unexpected internal error, encountered illegal EntityStatePdu Direction\");\n")
             .append("              \n")
             .append("      }\n")
-            .append("      Vector3Float newVelocity = new Vector3Float().setX(xFactor*speed).setY(yFactor*speed).setZ(getEntityLinearVelocity().z);\n")
-            .append("      setEntityLinearVelocity(newVelocity);\n")
+            .append(inlineVelocity ?
+                    "      entityLinearVelocityX = xFactor*speed;\n" +
+                    "      entityLinearVelocityY = yFactor*speed;\n" :
+                    "      Vector3Float newVelocity = new Vector3Float().setX(xFactor*speed).setY(yFactor*speed).setZ(getEntityLinearVelocity().z);\n" +
+                    "      setEntityLinearVelocity(newVelocity);\n")
             .append("      return this;\n")
             .append("    }\n")
                 
@@ -884,10 +913,15 @@ public class JavaGenerator extends AbstractGenerator
             .append("     * @param y location\n")
             .append("     * @param z location\n")
             .append("     * @return same object to permit progressive setters */\n")
-            .append("   public synchronized EntityStatePdu setEntityLocation(double x, double y, double z)\n")
+            .append("   public " + synchronizedModifier + "EntityStatePdu setEntityLocation(double x, double y, double z)\n")
             .append("   {\n")
-            .append("       // TODO autogenerate such utility constructors\n")
-            .append("       entityLocation = new Vector3Double().setX(x).setY(y).setZ(z);\n")
+            .append("       checkNotFrozen();\n")
+            .append(inlineLocation ?
+                    "       entityLocationX = x;\n" +
+                    "       entityLocationY = y;\n" +
+                    "       entityLocationZ = z;\n" :
+                    "       // TODO autogenerate such utility constructors\n" +
+                    "       entityLocation = new Vector3Double().setX(x).setY(y).setZ(z);\n")
             .append("       return this;\n")
             .append("   }\n")
         
@@ -896,11 +930,15 @@ public class JavaGenerator extends AbstractGenerator
             .append("    * @return same object to permit progressive setters */\n")
             .append("    public EntityStatePdu advanceEntityLocation(double timestep)\n")
             .append("    {\n")
-            .append("        Vector3Double location = getEntityLocation();\n")
-            .append("        Vector3Float  velocity = getEntityLinearVelocity();\n")
-            .append("        setEntityLocation(location.getX() + velocity.getX() * timestep,\n")
-            .append("                          location.getY() + velocity.getY() * timestep,\n")
-            .append("                          location.getZ() + velocity.getZ() * timestep);\n")
+            .append(inlineLocation && inlineVelocity ?
+                    "        setEntityLocation(entityLocationX + entityLinearVelocityX * timestep,\n" +
+                    "                          entityLocationY + entityLinearVelocityY * timestep,\n" +
+                    "                          entityLocationZ + entityLinearVelocityZ * timestep);\n" :
+                    "        Vector3Double location = getEntityLocation();\n" +
+                    "        Vector3Float  velocity = getEntityLinearVelocity();\n" +
+                    "        setEntityLocation(location.getX() + velocity.getX() * timestep,\n" +
+                    "                          location.getY() + velocity.getY() * timestep,\n" +
+                    "                          location.getZ() + velocity.getZ() * timestep);\n")
             .append("       return this;\n")
             .append("    }\n")
 
@@ -909,35 +947,40 @@ public class JavaGenerator extends AbstractGenerator
             .append("      * @param theta new value of interest\n")
             .append("      * @param psi new value of interest\n")
             .append("      * @return same object to permit progressive setters */\n")
-            .append("    public synchronized EntityStatePdu setEntityOrientation(float phi, float theta, float psi)\n")
+            .append("    public " + synchronizedModifier + "EntityStatePdu setEntityOrientation(float phi, float theta, float psi)\n")
             .append("    {\n")
-            .append("        // TODO autogenerate such utility constructors\n")
-            .append("        EulerAngles pEntityOrientation = new EulerAngles();\n")
-            .append("        pEntityOrientation = pEntityOrientation.setPhi(phi).setTheta(theta).setPsi(psi);\n")
-            .append("        entityOrientation = pEntityOrientation;\n")
+            .append("        checkNotFrozen();\n")
+            .append(inlineOrientation ?
+                    "        entityOrientationPhi   = phi;\n" +
+                    "        entityOrientationTheta = theta;\n" +
+                    "        entityOrientationPsi   = psi;\n" :
+                    "        // TODO autogenerate such utility constructors\n" +
+                    "        EulerAngles pEntityOrientation = new EulerAngles();\n" +
+                    "        pEntityOrientation = pEntityOrientation.setPhi(phi).setTheta(theta).setPsi(psi);\n" +
+                    "        entityOrientation = pEntityOrientation;\n")
             .append("        return this;\n")
             .append("    }\n")
                 
             .append("   /** Marking utility to clear character values\n")
             .append("    * @return same object to permit progressive setters */\n")
-            .append("    public synchronized EntityStatePdu clearMarking()\n")
+            .append("    public " + synchronizedModifier + "EntityStatePdu clearMarking()\n")
             .append("   {\n")
             .append("       byte[] emptyByteArray = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};\n")
-            .append("       marking.setCharacters(emptyByteArray);\n")
+            .append("       getMarking().setCharacters(emptyByteArray);\n")
             .append("       return this;\n")
             .append("   }\n")
                 
             .append("    /** Marking utility to set character values, 11 characters maximum\n")
             .append("    *@param newMarking new 11-character string to assign as marking value\n")
             .append("    * @return same object to permit progressive setters */\n")
-            .append("   public synchronized EntityStatePdu setMarking(String newMarking)\n")
+            .append("   public " + synchronizedModifier + "EntityStatePdu setMarking(String newMarking)\n")
             .append("   {\n")
             .append("       if ((newMarking == null) || newMarking.isEmpty())\n")
             .append("           clearMarking();\n")
             .append("       else if (newMarking.length() > 11)\n")
             .append("           System.err.println (\"*** marking '\" + newMarking + \"' is greater than 11 characters, truncating\");\n")
             .append("       newMarking = String.format(\"%11s\", newMarking);\n")
-            .append("       marking.setCharacters(newMarking.getBytes());\n")
+            .append("       getMarking().setCharacters(newMarking.getBytes());\n")
             .append("           \n")
             .append("       return this;\n")
             .append("   }\n")
@@ -946,7 +989,7 @@ public class JavaGenerator extends AbstractGenerator
             .append("    * @return 11-character String value corresponding to marking */\n")
             .append("   public String getMarkingString()\n")
             .append("   {\n")
-            .append("       return new String(marking.getCharacters());\n")
+            .append("       return new String(getMarking().getCharacters());\n")
             .append("   }\n");
         
         // TODO downcaset Vector3Double to Vector3Float
@@ -960,6 +1003,8 @@ public class JavaGenerator extends AbstractGenerator
     String domainTemplate3;*/
     String specSourceTemplate;
     String licenseTemplate;
+    String pduSuppliersTemplate;
+    String pduVisitorTemplate;
     /*
     private void writeSpecialCase(PrintWriter pw, GeneratedClass aClass)
     {
@@ -991,6 +1036,8 @@ public class JavaGenerator extends AbstractGenerator
          // domainTemplate3 = loadOneTemplate("domainpart3.txt");
             specSourceTemplate      = loadOneTemplate("dis7spec.txt");
             licenseTemplate         = loadOneTemplate("dis7javalicense.txt");
+            pduSuppliersTemplate    = loadOneTemplate("pdusuppliers.txt");
+            pduVisitorTemplate      = loadOneTemplate("pduvisitor.txt");
         }
         catch (Exception ex) {
             throw new RuntimeException(ex);
@@ -1177,6 +1224,8 @@ public class JavaGenerator extends AbstractGenerator
                     if (anAttribute.getName().startsWith("iFFPduLayer")) {
                     	pw.println("   " + fieldaccess + " " + attributeType + "  " + anAttribute.getName() + "; \n");
                     }
+                    else if (isLazyRecord(anAttribute))
+                        pw.println("   " + fieldaccess + " " + attributeType + "  " + anAttribute.getName() + "; // allocated on first use, see " + lazyRecordGetter(anAttribute) + "\n");
                     else if(anAttribute.getDefaultValue() == null)
                         pw.println("   " + fieldaccess + " " + attributeType + "  " + anAttribute.getName() + " = new " + (initialClass == null ? attributeType : initialClass) + "(); \n");
                     else
@@ -1231,7 +1280,7 @@ public class JavaGenerator extends AbstractGenerator
                     else pw.println("   /** " + anAttribute.getName() + " is an undescribed parameter... */");
 
                     if (anAttribute.getDefaultValue() == null)
-                        pw.println("   " + fieldaccess + " " + className + " " + anAttribute.getName() + " = " + className + ".values()[0];\n");
+                        pw.println("   " + fieldaccess + " " + className + " " + anAttribute.getName() + " = " + className + ".getFirstValue();\n");
                     else
                         pw.println("   " + fieldaccess + " " + className + " " + anAttribute.getName() + " = " + anAttribute.getDefaultValue() + ";\n");
                     break;
@@ -1251,32 +1300,41 @@ public class JavaGenerator extends AbstractGenerator
                     break;
                     
                 case PADTO16:
-                    pw.println("   /** pad to 16-bit boundary */\n");
-                    pw.println("   private byte[] "+anAttribute.getName()+" = new byte[0];\n");
-                    break;
                 case PADTO32:
-                    pw.println("   /** pad to 32-bit boundary */\n");
-                    pw.println("   private byte[] "+anAttribute.getName()+" = new byte[0];\n");
-                    break;
                 case PADTO64:
-                    pw.println("   /** pad to 64-bit boundary */\n");
-                    pw.println("   private byte[] "+anAttribute.getName()+" = new byte[0];\n");
+                    // padding length is derived by position arithmetic while marshalling, not stored
                     break;
-                    
+
             }
         } // End of loop through ivars
+
+        Set<String> initialRecordNames = new HashSet<>();
+        for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes()) {
+            if (isLazyRecord(anAttribute) && initialRecordNames.add(lazyRecordInitialName(anAttribute))) {
+                pw.println("   /** Initial values of unallocated " + anAttribute.getType() + " fields, read only */");
+                pw.println("   private static final " + anAttribute.getType() + " " + lazyRecordInitialName(anAttribute) + " = new " + anAttribute.getType() + "();\n");
+            }
+        }
+
+        for (InlinedRecord inlinedRecord : inlinedRecords.getOrDefault(aClass.getName(), List.of())) {
+            GeneratedClassAttribute anAttribute = inlinedRecord.attribute;
+            StringJoiner inlineNames = new StringJoiner(", ");
+            for (GeneratedClassAttribute inlineField : inlinedRecord.inlineFields)
+                inlineNames.add(inlineField.getName());
+            pw.println("   /** Record view of inline fields " + inlineNames + ", materialized on first use of get" +
+                       initialCapital(anAttribute.getName()) + "(), not serialized */");
+            pw.println("   private transient " + anAttribute.getType() + " " + anAttribute.getName() + ";\n");
+        }
     }
   
     private void writeCopyMethods(PrintWriter pw, GeneratedClass aClass)
     {
-        int BYTE_BUFFER_SIZE = 400; // TODO what is expected max buffer size?
-        
         if (aClass.getName().equals(("Pdu")))
         {
             pw.println("    /** Create deep copy of current object using PduFactory.");
             pw.println("     * @return deep copy of PDU");
             pw.println("     */");
-            pw.println("     public synchronized Pdu copyByPduFactory()");
+            pw.println("     public " + synchronizedModifier + "Pdu copyByPduFactory()");
             pw.println("     {");
             pw.println("         PduFactory pduFactory = new PduFactory();");
             pw.println("         Pdu newPdu = null; // initialize empty as placeholder");
@@ -1294,24 +1352,22 @@ public class JavaGenerator extends AbstractGenerator
         }
         else if (aClass.getName().endsWith("Pdu") && !aClass.getName().equals(("Pdu"))&& !aClass.isAbstract())
         {
-            pw.println("/** copy method creates a deep copy of current object using preferred marshalling method");
+            pw.println("/** copy method creates a deep copy of current object, field by field");
             pw.println(" * @return deep copy of PDU */");
-            pw.println(" public synchronized " + aClass.getName() + " copy()");
+            pw.println(" public " + synchronizedModifier + aClass.getName() + " copy()");
             pw.println(" {");
-            pw.println("     return copyDataOutputStream();");
+            pw.println("     return new " + aClass.getName() + "(this);");
             pw.println(" }");
             pw.println("/** Creates a \"deep copy\" of current object using ByteBuffer methods.");
             pw.println(" * @return deep copy of PDU */");
-            pw.println(" public synchronized " + aClass.getName() + " copyByteBuffer()");
+            pw.println(" public " + synchronizedModifier + aClass.getName() + " copyByteBuffer()");
             pw.println(" {");
-//          pw.println("     PduFactory pduFactory = new PduFactory();");
-//          pw.println("     EntityStatePdu newCopy = pduFactory.make" + aClass.getName() + "();");
             pw.println("     " + aClass.getName() + " newCopy = new " + aClass.getName() + "();");
-            pw.println("     ByteBuffer byteBuffer = ByteBuffer.allocate(" + BYTE_BUFFER_SIZE + ");");
+            pw.println("     ByteBuffer byteBuffer = ByteBuffer.allocate(getMarshalledSize()); // exact size");
             pw.println("     try");
             pw.println("     {");
-            pw.println("         this.marshal(byteBuffer);      // working");
-            pw.println("         newCopy.unmarshal(byteBuffer); // not working");
+            pw.println("         this.marshal(byteBuffer);");
+            pw.println("         newCopy.unmarshal(byteBuffer.rewind());");
             pw.println("     }");
             pw.println("     catch (Exception e)");
             pw.println("     {");
@@ -1322,26 +1378,18 @@ public class JavaGenerator extends AbstractGenerator
             pw.println("     return newCopy;");
             pw.println(" }");
             pw.println();
-            
-            pw.println("/** byteArrayOutputStream (baos) is used for marshal/unmarshal serialization");
-            pw.println("   * @see copyDataOutputStream() */");
-            pw.println("protected ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();");
-            pw.println("/** dataOutputStream (dos) is used for marshal/unmarshal serialization");
-            pw.println("   * @see copyDataOutputStream() */");
-            pw.println("protected DataOutputStream      dataOutputStream      = new DataOutputStream(byteArrayOutputStream);");
-            pw.println();
             pw.println("/** copy method creates a deep copy of current object using DataOutputStream methods.");
             pw.println(" * @return deep copy of PDU */");
-            pw.println(" public synchronized " + aClass.getName() + " copyDataOutputStream()");
+            pw.println(" public " + synchronizedModifier + aClass.getName() + " copyDataOutputStream()");
             pw.println(" {");
-//            pw.println("     PduFactory pduFactory = new PduFactory();");
             pw.println("     " + aClass.getName() + " newCopy = new " + aClass.getName() + "();");
-//            pw.println("     DataOutputStream dos = new DataOutputStream(new ByteArrayOutputStream());");
+            pw.println("     ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(getMarshalledSize());");
+            pw.println("     DataOutputStream      dataOutputStream      = new DataOutputStream(byteArrayOutputStream);");
             pw.println("     try");
             pw.println("     {");
             pw.println("         this.marshal(dataOutputStream);");
-            pw.println("         byte[] byteArrayDOS = byteArrayOutputStream.toByteArray();");
-            pw.println("         newCopy.unmarshal(ByteBuffer.wrap(byteArrayDOS));");
+            pw.println("         dataOutputStream.flush();");
+            pw.println("         newCopy.unmarshal(ByteBuffer.wrap(byteArrayOutputStream.toByteArray()));");
             pw.println("     }");
             pw.println("     catch (Exception e)");
             pw.println("     {");
@@ -1349,40 +1397,206 @@ public class JavaGenerator extends AbstractGenerator
             pw.println("         e.printStackTrace(System.err);");
             pw.println("         System.exit(-1); // TODO: Abruptly ending VM not a good practice");
             pw.println("     }");
-
-            pw.println("        try");
-            pw.println("        {");
-            pw.println("                 dataOutputStream.flush();");
-            pw.println("            byteArrayOutputStream.flush();");
-            pw.println("            byteArrayOutputStream.reset();");
-            pw.println("        }");
-            pw.println("        catch (IOException ioe)");
-            pw.println("        {");
-            pw.println("            System.err.println(\"" + aClass.getName() + " copyDataOutputStream() flush IOException: \" + ioe.getMessage());");
-            pw.println("        }");
             pw.println("     return newCopy;");
             pw.println(" }");
         }
     }
   
-    private void writeConstructor(PrintWriter pw, GeneratedClass aClass)
+    /**
+     * Write freeze support, which lets objects be shared across threads without locking, as needed by
+     * thread-confined classes.  Root classes hold the frozen flag and checkNotFrozen(), invoked by setters,
+     * unmarshal methods and reset().  Each class freezes its nested records and makes its lists unmodifiable
+     * in freezeContents(), and concrete classes provide freeze(), returning a frozen deep copy.
+     * Getters of a frozen object return copies of arrays, bitfields and hand-written supporting records.
+     * @param pw PrintWriter
+     * @param aClass class of interest
+     */
+    private void writeFreezeMethods(PrintWriter pw, GeneratedClass aClass)
     {
-        // Write a constructor
+        boolean isRoot = aClass.getParentClass().equalsIgnoreCase("root");
+        if (isRoot)
+        {
+            pw.println();
+            pw.println("/** Whether this object is an immutable copy produced by freeze() */");
+            pw.println("protected boolean frozen;");
+            pw.println();
+            pw.println("/** Whether this object is an immutable copy produced by freeze()");
+            pw.println(" * @return true if setters, unmarshal methods and reset() throw UnsupportedOperationException */");
+            pw.println("public boolean isFrozen()");
+            pw.println("{");
+            pw.println("    return frozen;");
+            pw.println("}");
+            pw.println();
+            pw.println("/** Invoked before modifying this object");
+            pw.println(" * @throws UnsupportedOperationException if this object is frozen */");
+            pw.println("protected final void checkNotFrozen()");
+            pw.println("{");
+            pw.println("    if (frozen)");
+            pw.println("        throw new UnsupportedOperationException(getClass().getSimpleName() + \" is frozen, modify a copy() instead\");");
+            pw.println("}");
+        }
         pw.println();
-        pw.println("/** Constructor creates and configures a new instance object */");
-        pw.println(" public " + aClass.getName() + "()");
-        pw.println(" {");
+        pw.println("/** Marks this newly copied object and its nested records as frozen, and makes its lists unmodifiable */");
+        if (!isRoot)
+            pw.println("@Override");
+        pw.println("protected void freezeContents()");
+        pw.println("{");
+        if (isRoot)
+            pw.println("    frozen = true;");
+        else
+            pw.println("    super.freezeContents();");
 
-        // Set primitive types with initial values
-        for (GeneratedInitialValue anInit : aClass.getInitialValues()) {
+        for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes())
+        {
+            if (anAttribute.shouldSerialize == false)
+                continue;
+            String name = anAttribute.getName();
+            String type = anAttribute.getType();
+            boolean freezable = classDescriptions.containsKey(type) &&
+                               !IMMUTABLE_CLASSREF_TYPES.contains(type) && !SUPPORTING_CLASSREF_TYPES.contains(type);
+            switch (anAttribute.getAttributeKind())
+            {
+                case CLASSREF:
+                    if (!freezable)
+                        break;
+                    if (isLazyRecord(anAttribute))
+                        pw.println("    " + lazyRecordGetter(anAttribute) + ".freezeContents(); // allocated by getter");
+                    else if (name.startsWith("iFFPduLayer"))
+                        pw.println("    if (" + name + " != null)\n        " + name + ".freezeContents();");
+                    else
+                        pw.println("    " + name + ".freezeContents();");
+                    break;
 
-            // This is irritating. we have to match up the attribute name with the type,
-            // so we can do a cast. Otherwise java pukes because it wants to interpret all
-            // numeric strings as ints or doubles, and the attribute may be a short.
-            boolean found = false;
-            GeneratedClass currentClass = aClass;
-            String aType = null;
-            ClassAttributeType aKind=null;
+                case OBJECT_LIST:
+                    if (freezable && !anAttribute.getUnderlyingTypeIsEnum())
+                    {
+                        pw.println("    for (" + type + " element : " + name + ")");
+                        pw.println("        element.freezeContents();");
+                    }
+                    pw.println("    " + name + " = Collections.unmodifiableList(" + name + ");");
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        for (InlinedRecord inlinedRecord : inlinedRecords.getOrDefault(aClass.getName(), List.of())) {
+            // record view is materialized here, since its getter returns it as is once frozen
+            String name = inlinedRecord.attribute.getName();
+            pw.println("    " + name + " = new " + inlinedRecord.attribute.getType() + "();");
+            for (int index = 0; index < inlinedRecord.fields.size(); index++)
+                pw.println("    " + name + "." + inlinedRecord.fields.get(index).getName() + " = " + inlinedRecord.inlineFields.get(index).getName() + ";");
+            pw.println("    " + name + ".freezeContents();");
+        }
+        pw.println("}");
+
+        if (aClass.isAbstract())
+            return;
+        pw.println();
+        pw.println("/** Creates an immutable deep copy of current object, which may be shared across threads without locking.");
+        pw.println(" * The frozen copy is published to other threads by a thread-safe handoff, for example a concurrent queue.");
+        pw.println(" * Its setters, unmarshal methods and reset() throw UnsupportedOperationException, and copy() provides a mutable copy.");
+        pw.println(" * @return frozen copy of this object, or this object if already frozen */");
+        pw.println("public " + synchronizedModifier + aClass.getName() + " freeze()");
+        pw.println("{");
+        pw.println("    if (frozen)");
+        pw.println("        return this;");
+        pw.println("    " + aClass.getName() + " frozenCopy = new " + aClass.getName() + "(this);");
+        pw.println("    frozenCopy.freezeContents();");
+        pw.println("    return frozenCopy;");
+        pw.println("}");
+    }
+
+    private void writeConstructor(PrintWriter pw, GeneratedClass aClass)
+    {
+        // Write a constructor
+        pw.println();
+        pw.println("/** Constructor creates and configures a new instance object */");
+        pw.println(" public " + aClass.getName() + "()");
+        pw.println(" {");
+        writeInitialValues(pw, aClass);
+        pw.println(" }");    
+    }
+
+    /**
+     * Write copy constructor, which creates a deep copy field by field without marshalling.
+     * Nested records and list elements are copied via their own copy constructors, bitfields are cloned,
+     * and enumerations are shared since they are immutable.
+     * @param pw PrintWriter
+     * @param aClass class of interest
+     */
+    private void writeCopyConstructor(PrintWriter pw, GeneratedClass aClass)
+    {
+        pw.println();
+        pw.println("/** Copy constructor creates a deep copy of another instance, field by field");
+        pw.println(" * @param source object to copy */");
+        pw.println(" public " + aClass.getName() + "(" + aClass.getName() + " source)");
+        pw.println(" {");
+        if (!aClass.getParentClass().equalsIgnoreCase("root"))
+            pw.println("    super(source);");
+
+        for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes())
+        {
+            if (anAttribute.shouldSerialize == false)
+                continue;
+            String name = anAttribute.getName();
+            switch (anAttribute.getAttributeKind())
+            {
+                case PRIMITIVE:
+                case SISO_ENUM:
+                    pw.println("    " + name + " = source." + name + ";");
+                    break;
+
+                case CLASSREF:
+                    if (IMMUTABLE_CLASSREF_TYPES.contains(anAttribute.getType()))
+                        pw.println("    " + name + " = source." + name + "; // immutable, shared");
+                    else
+                        pw.println("    " + name + " = (source." + name + " == null) ? null : new " + anAttribute.getType() + "(source." + name + ");");
+                    break;
+
+                case SISO_BITFIELD:
+                    pw.println("    " + name + " = (" + anAttribute.getType() + ") DisBitField.copyOf(source." + name + ");");
+                    break;
+
+                case PRIMITIVE_LIST:
+                    pw.println("    " + name + " = (source." + name + " == null) ? null : source." + name + ".clone();");
+                    break;
+
+                case OBJECT_LIST:
+                    if (anAttribute.getUnderlyingTypeIsEnum() || (marshalTypes.getProperty(anAttribute.getType()) != null))
+                        pw.println("    " + name + " = new ArrayList<>(source." + name + ");");
+                    else
+                    {
+                        pw.println("    " + name + " = new ArrayList<>(source." + name + ".size());");
+                        pw.println("    for (" + anAttribute.getType() + " element : source." + name + ")");
+                        pw.println("        " + name + ".add(new " + anAttribute.getType() + "(element));");
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        pw.println(" }");
+    }
+
+    /**
+     * Write setter invocations for the initial values of a class, used by constructor and reset()
+     * @param pw PrintWriter
+     * @param aClass class of interest
+     */
+    private void writeInitialValues(PrintWriter pw, GeneratedClass aClass)
+    {
+        // Set primitive types with initial values
+        for (GeneratedInitialValue anInit : aClass.getInitialValues()) {
+
+            // This is irritating. we have to match up the attribute name with the type,
+            // so we can do a cast. Otherwise java pukes because it wants to interpret all
+            // numeric strings as ints or doubles, and the attribute may be a short.
+            boolean found = false;
+            GeneratedClass currentClass = aClass;
+            String aType = null;
+            ClassAttributeType aKind=null;
             
             String attName=null;
             while (currentClass != null) {
@@ -1409,18 +1623,118 @@ public class JavaGenerator extends AbstractGenerator
                     pw.println("    " + anInit.getSetterMethodName() + "( (" + types.getProperty(aType) + ")" + anInit.getVariableValue() + " );");
             }
         } // End initialize initial values
-        
-        pw.println(" }");    
+    }
+
+    /**
+     * Write reset() method, which restores the state of a newly constructed instance so that
+     * instances may be recycled, for example by PduFactory pooled decoding.  Nested records are reset in place
+     * and lists are cleared so that allocated objects and list capacity are retained.
+     * @param pw PrintWriter
+     * @param aClass class of interest
+     */
+    private void writeResetMethod(PrintWriter pw, GeneratedClass aClass)
+    {
+        pw.println();
+        pw.println("/** Resets this object to the values of a newly constructed instance, for reuse without reallocation.");
+        pw.println(" * Nested records are reset in place and lists are cleared, retaining their capacity.");
+        pw.println(" * @return same object to permit progressive setters */");
+        if (!aClass.getParentClass().equalsIgnoreCase("root"))
+            pw.println("@Override");
+        pw.println("public " + synchronizedModifier + aClass.getName() + " reset()");
+        pw.println("{");
+        if (!aClass.getParentClass().equalsIgnoreCase("root"))
+            pw.println("    super.reset();");
+        else
+            pw.println("    checkNotFrozen();");
+
+        for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes())
+        {
+            if (anAttribute.shouldSerialize == false)
+                continue;
+            String name = anAttribute.getName();
+            String attributeType;
+            switch (anAttribute.getAttributeKind())
+            {
+                case PRIMITIVE:
+                    attributeType = types.getProperty(anAttribute.getType());
+                    String defaultValue = (anAttribute.getDefaultValue() == null) ? "0" : anAttribute.getDefaultValue();
+                    pw.println("    " + name + " = (" + attributeType + ")" + defaultValue + ";");
+                    break;
+
+                case CLASSREF:
+                    if (name.startsWith("iFFPduLayer"))
+                        pw.println("    " + name + " = null; // optional layer");
+                    else if (anAttribute.getDefaultValue() != null)
+                        pw.println("    " + name + " = " + anAttribute.getDefaultValue() + ";");
+                    else if (anAttribute.getInitialClass() != null)
+                        pw.println("    " + name + " = new " + anAttribute.getInitialClass() + "();");
+                    else if (isLazyRecord(anAttribute))
+                    {
+                        pw.println("    if (" + name + " != null) // lazy record, retained once allocated");
+                        pw.println("        " + name + ".reset();");
+                    }
+                    else
+                        pw.println("    " + name + ".reset();");
+                    break;
+
+                case PRIMITIVE_LIST:
+                    attributeType = types.getProperty(anAttribute.getType());
+                    pw.println("    if (" + name + ".length == " + anAttribute.getListLength() + ")");
+                    pw.println("         Arrays.fill(" + name + ", (" + attributeType + ")0);");
+                    pw.println("    else " + name + " = new " + attributeType + "[" + anAttribute.getListLength() + "];");
+                    break;
+
+                case OBJECT_LIST:
+                    pw.println("    " + name + ".clear();");
+                    break;
+
+                case SISO_ENUM:
+                    if (anAttribute.getDefaultValue() == null)
+                         pw.println("    " + name + " = " + anAttribute.getType() + ".getFirstValue();");
+                    else pw.println("    " + name + " = " + anAttribute.getDefaultValue() + ";");
+                    break;
+
+                case SISO_BITFIELD:
+                    // bitfield classes extend DisBitField or DisBitSet, both of which provide clear()
+                    String defaultClass = (anAttribute.getDefaultValue() == null) ? anAttribute.getType() :
+                            anAttribute.getDefaultValue().replaceFirst("^new\\s+([\\w.]+)\\s*\\(\\s*\\)$", "$1");
+                    if (defaultClass.equals(anAttribute.getDefaultValue()))
+                        pw.println("    " + name + " = " + anAttribute.getDefaultValue() + ";");
+                    else if (defaultClass.equals(anAttribute.getType()))
+                        pw.println("    " + name + ".clear();");
+                    else
+                    {
+                        // polymorphic, for example EntityCapabilities, default class is retained when unchanged
+                        pw.println("    if (" + name + ".getClass() == " + defaultClass + ".class)");
+                        pw.println("         ((" + defaultClass + ") " + name + ").clear();");
+                        pw.println("    else " + name + " = new " + defaultClass + "();");
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        writeInitialValues(pw, aClass);
+        pw.println("    return this;");
+        pw.println("}");
     }
     
     /**
-     * Produce custom getMarshalledSize() method
+     * Produce custom getMarshalledSize() method.  Classes with a fixed layout get a MARSHALLED_SIZE constant
+     * computed at generation time, other classes sum constant-size attributes and only walk variable-size attributes at run time.
      * @param printWriter output
      * @param aClass input class
      */
     public void writeGetMarshalledSizeMethod(PrintWriter printWriter, GeneratedClass aClass)
     {
         printWriter.println();
+        if (hasMarshalledSizeConstant(aClass))
+        {
+            printWriter.println("  /** Serialized (marshalled) size in bytes, fixed by record layout */");
+            printWriter.println("  public static final int MARSHALLED_SIZE = " + fixedMarshalledSizeExpression(aClass) + ";");
+            printWriter.println();
+        }
             printWriter.println(
 "  /**\n" +
 "   * Returns size of this serialized (marshalled) object in bytes\n" +
@@ -1429,7 +1743,16 @@ public class JavaGenerator extends AbstractGenerator
 "   */");
         if (aClass.getName().endsWith("Pdu"))
             printWriter.println("@Override");
-        printWriter.println("public synchronized int getMarshalledSize()");
+        if (hasMarshalledSizeConstant(aClass))
+        {
+            printWriter.println("public int getMarshalledSize()");
+            printWriter.println("{");
+            printWriter.println("   return MARSHALLED_SIZE;");
+            printWriter.println("}");
+            printWriter.println();
+            return;
+        }
+        printWriter.println("public " + synchronizedModifier + "int getMarshalledSize()");
         printWriter.println("{");
         printWriter.println("   int marshalSize = 0; ");
         printWriter.println();
@@ -1440,6 +1763,12 @@ public class JavaGenerator extends AbstractGenerator
         }
 
         for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes()) {
+            String fixedSize = fixedMarshalledSizeExpression(anAttribute);
+            if ((fixedSize != null) && anAttribute.shouldSerialize)
+            {
+                printWriter.println("   marshalSize += " + fixedSize + ";  // " + anAttribute.getName());
+                continue;
+            }
             switch (anAttribute.getAttributeKind()) {
                 case PRIMITIVE:
                     // primitive cannot be null, no checking required
@@ -1449,6 +1778,11 @@ public class JavaGenerator extends AbstractGenerator
                 case CLASSREF:
                 case SISO_ENUM:
                 case SISO_BITFIELD:
+                    if (isLazyRecord(anAttribute))
+                    {
+                        printWriter.println("   marshalSize += " + anAttribute.getType() + ".MARSHALLED_SIZE;  // " + anAttribute.getName());
+                        break;
+                    }
                     printWriter.println("   if (" + anAttribute.getName() + " != null)");
                     printWriter.print  ("       marshalSize += ");
                     printWriter.println(anAttribute.getName() + ".getMarshalledSize();");
@@ -1473,8 +1807,8 @@ public class JavaGenerator extends AbstractGenerator
                 case PADTO16:
                 case PADTO32:
                 case PADTO64:
-                    printWriter.println("   if (" + anAttribute.getName() + " != null)");
-                    printWriter.println("       marshalSize += "+anAttribute.getName()+".length;");
+                    // derived from size marshalled so far, matching padding written relative to start of object
+                    printWriter.println("   marshalSize += Align.paddingTo" + paddingBits(anAttribute) + "bits(marshalSize);  // " + anAttribute.getName());
                     break;
             }          
         }
@@ -1483,6 +1817,546 @@ public class JavaGenerator extends AbstractGenerator
         printWriter.println("}");
         printWriter.println();
     }
+
+    /**
+     * Whether a class declares padding, whose length is computed relative to start of object while marshalling
+     * @param aClass class of interest
+     * @return true if any serialized attribute is PADTO16, PADTO32 or PADTO64
+     */
+    private boolean hasPadding(GeneratedClass aClass)
+    {
+        for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes())
+        {
+            switch (anAttribute.getAttributeKind())
+            {
+                case PADTO16:
+                case PADTO32:
+                case PADTO64:
+                    if (anAttribute.shouldSerialize)
+                        return true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Boundary of a padding attribute, matching Align method names such as paddingTo32bits
+     * @param anAttribute PADTO16, PADTO32 or PADTO64 attribute
+     * @return boundary in bits
+     */
+    private String paddingBits(GeneratedClassAttribute anAttribute)
+    {
+        switch (anAttribute.getAttributeKind())
+        {
+            case PADTO16: return "16";
+            case PADTO32: return "32";
+            default:      return "64";
+        }
+    }
+
+    /** Memoized results of fixedMarshalledSizeExpression(GeneratedClass), value is null for variable-size classes */
+    private final Map<String, String> fixedMarshalledSizeExpressions = new HashMap<>();
+
+    /**
+     * Compute marshalled size of a class, including superclasses, as a Java constant expression.
+     * Layout is fixed when every serialized attribute is a primitive, an enumeration, a bitfield, a fixed-length
+     * primitive array or a reference to another fixed-layout class; object lists, padding, variable-length arrays
+     * and polymorphic or optional references make the size variable.
+     * @param aClass class of interest
+     * @return constant expression such as "16 + EntityType.MARSHALLED_SIZE", or null if size is variable
+     */
+    private String fixedMarshalledSizeExpression(GeneratedClass aClass)
+    {
+        if (fixedMarshalledSizeExpressions.containsKey(aClass.getName()))
+            return fixedMarshalledSizeExpressions.get(aClass.getName());
+        fixedMarshalledSizeExpressions.put(aClass.getName(), null); // guard against recursive definitions
+
+        int         byteCount  = 0;
+        List<String> references = new ArrayList<>();
+        GeneratedClass currentClass = aClass;
+        while (currentClass != null)
+        {
+            for (GeneratedClassAttribute anAttribute : currentClass.getClassAttributes())
+            {
+                if (anAttribute.shouldSerialize == false)
+                    continue;
+                String attributeSize = fixedMarshalledSizeExpression(anAttribute);
+                if (attributeSize == null)
+                    return null; // variable size, memoized as null
+                if (attributeSize.matches("\\d+"))
+                     byteCount += Integer.parseInt(attributeSize);
+                else references.add(attributeSize);
+            }
+            if (currentClass.getParentClass().equalsIgnoreCase("root"))
+                break;
+            currentClass = classDescriptions.get(currentClass.getParentClass());
+            if (currentClass == null)
+                return null; // unknown superclass
+        }
+        StringBuilder expression = new StringBuilder();
+        if ((byteCount > 0) || references.isEmpty())
+            expression.append(byteCount);
+        for (String reference : references)
+        {
+            if (expression.length() > 0)
+                expression.append(" + ");
+            expression.append(reference);
+        }
+        fixedMarshalledSizeExpressions.put(aClass.getName(), expression.toString());
+        return expression.toString();
+    }
+
+    /**
+     * Compute marshalled size of a single attribute as a Java constant expression
+     * @param anAttribute attribute of interest
+     * @return constant expression, or null if size is variable
+     */
+    private String fixedMarshalledSizeExpression(GeneratedClassAttribute anAttribute)
+    {
+        switch (anAttribute.getAttributeKind())
+        {
+            case PRIMITIVE:
+                return primitiveSizes.getProperty(anAttribute.getType());
+            case SISO_ENUM:
+                return anAttribute.getType() + ".MARSHALLED_SIZE";
+            case SISO_BITFIELD:
+                // bitfield size in bits is declared in XML, type may be a marker interface such as EntityCapabilities
+                return String.valueOf((Integer.parseInt(anAttribute.getEnumMarshalSize()) + Byte.SIZE - 1) / Byte.SIZE);
+            case PRIMITIVE_LIST:
+                if (anAttribute.isFixedLength() && (primitiveSizesMap.get(anAttribute.getType()) != null))
+                    return String.valueOf(anAttribute.getListLength() * primitiveSizesMap.get(anAttribute.getType()));
+                return null;
+            case CLASSREF:
+                if (anAttribute.getName().startsWith("iFFPduLayer") || (anAttribute.getInitialClass() != null))
+                    return null; // optional or polymorphic
+                GeneratedClass referencedClass = classDescriptions.get(anAttribute.getType());
+                if ((referencedClass != null) && hasMarshalledSizeConstant(referencedClass))
+                    return anAttribute.getType() + ".MARSHALLED_SIZE";
+                return null;
+            default: // OBJECT_LIST, PADTO16, PADTO32, PADTO64
+                return null;
+        }
+    }
+
+    /**
+     * Whether a record attribute is allocated lazily by its getter rather than during construction, so that
+     * constructing a PDU only allocates the records that are actually used.  Applies to plain references to
+     * fixed-size records, whose marshalled size is then known without an instance; generated methods reach
+     * the record via its getter, or treat null as a newly constructed record.
+     * @param anAttribute attribute of interest
+     * @return whether field is null until first use
+     */
+    private boolean isLazyRecord(GeneratedClassAttribute anAttribute)
+    {
+        if ((anAttribute.getAttributeKind() != ClassAttributeType.CLASSREF) || !anAttribute.shouldSerialize || anAttribute.isHidden() ||
+             anAttribute.getName().startsWith("iFFPduLayer") || (anAttribute.getDefaultValue() != null) || (anAttribute.getInitialClass() != null) ||
+             IMMUTABLE_CLASSREF_TYPES.contains(anAttribute.getType()) || SUPPORTING_CLASSREF_TYPES.contains(anAttribute.getType()))
+            return false;
+        GeneratedClass referencedClass = classDescriptions.get(anAttribute.getType());
+        return (referencedClass != null) && hasMarshalledSizeConstant(referencedClass);
+    }
+
+    /**
+     * Getter invocation that allocates a lazy record on first use
+     * @param anAttribute lazy record attribute
+     * @return Java expression such as getEntityID()
+     */
+    private String lazyRecordGetter(GeneratedClassAttribute anAttribute)
+    {
+        return "get" + initialCapital(anAttribute.getName()) + "()";
+    }
+
+    /**
+     * Name of private static record instance holding initial values, compared and hashed in place of an
+     * unallocated lazy record so that equals(), hashCode() and toString() neither allocate nor lock
+     * @param anAttribute lazy record attribute
+     * @return constant name such as INITIAL_ENTITY_ID
+     */
+    private String lazyRecordInitialName(GeneratedClassAttribute anAttribute)
+    {
+        return "INITIAL_" + viewConstantName(anAttribute.getType());
+    }
+
+    /**
+     * Read-only value of a lazy record, substituting initial values while unallocated
+     * @param anAttribute lazy record attribute
+     * @param owner prefix of field reference, for example "rhs." or empty
+     * @return Java expression such as ((entityID == null) ? INITIAL_ENTITY_ID : entityID)
+     */
+    private String lazyRecordValue(GeneratedClassAttribute anAttribute, String owner)
+    {
+        return "((" + owner + anAttribute.getName() + " == null) ? " + lazyRecordInitialName(anAttribute) + " : " + owner + anAttribute.getName() + ")";
+    }
+
+    /**
+     * Whether a class declares a MARSHALLED_SIZE constant: its layout is fixed, and no subclass
+     * (other than aliases) has variable size, so that the inherited constant is never misleading.
+     * @param aClass class of interest
+     * @return whether MARSHALLED_SIZE is declared
+     */
+    private boolean hasMarshalledSizeConstant(GeneratedClass aClass)
+    {
+        if ((aClass.getAliasFor() != null) || (fixedMarshalledSizeExpression(aClass) == null))
+            return false;
+        for (GeneratedClass otherClass : classDescriptions.values())
+        {
+            if (otherClass.getParentClass().equals(aClass.getName()) && (otherClass.getAliasFor() == null) &&
+                !hasMarshalledSizeConstant(otherClass))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether a flyweight view class is generated: concrete PDUs only
+     * @param aClass class of interest
+     * @return whether writeViewClass() applies
+     */
+    private boolean hasViewClass(GeneratedClass aClass)
+    {
+        return aClass.getName().endsWith("Pdu") && !aClass.getName().equals("Pdu") &&
+               !aClass.isAbstract() && (aClass.getAliasFor() == null);
+    }
+
+    /** Accumulated output while walking the record layout of one flyweight view class */
+    private static class ViewLayout
+    {
+        /** offset constant initial values, keyed by constant name */
+        Map<String, String> constants = new LinkedHashMap<>();
+        /** public accessor methods */
+        StringBuilder methods   = new StringBuilder();
+        /** private segment helper methods, keyed by method name */
+        Map<String, String> helpers   = new LinkedHashMap<>();
+        /** absolute index of current segment, rebased following each variable-length section */
+        String base = "offset";
+        /** absolute position expressions of top-level fields, used to locate list counts */
+        Map<String, String> positions = new HashMap<>();
+        /** name of first field that cannot be located, if any */
+        String stoppedAt;
+    }
+
+    /**
+     * Generate flyweight view class, for example EntityStatePduView, that reads PDU fields directly from a ByteBuffer.
+     * Fields are walked in wire order, superclass attributes first.  Offsets are constants while layout is fixed;
+     * object lists with count fields and fixed-size elements, as well as padding, start a new segment whose
+     * absolute index is computed on demand.  Any other variable-length field ends the view.
+     * @param aClass concrete PDU class of interest
+     * @param viewFullPath output file
+     * @throws IOException if file cannot be written
+     */
+    private void writeViewClass(GeneratedClass aClass, String viewFullPath) throws IOException
+    {
+        String     viewName = aClass.getName() + "View";
+        ViewLayout layout   = new ViewLayout();
+
+        LinkedList<GeneratedClassAttribute> attributes = new LinkedList<>();
+        GeneratedClass currentClass = aClass;
+        while (currentClass != null)
+        {
+            attributes.addAll(0, currentClass.getClassAttributes());
+            if (currentClass.getParentClass().equalsIgnoreCase("root"))
+                break;
+            currentClass = classDescriptions.get(currentClass.getParentClass());
+        }
+
+        String position = "0";
+        for (GeneratedClassAttribute anAttribute : attributes)
+        {
+            if (anAttribute.shouldSerialize == false)
+                continue;
+            String name = anAttribute.getName();
+            for (int suffix = 2; layout.positions.containsKey(name); suffix++)
+                name = anAttribute.getName() + suffix; // subclass attribute hides superclass attribute of same name
+            String offsetName = viewConstantName(name) + "_OFFSET";
+            String fixedSize  = fixedMarshalledSizeExpression(anAttribute);
+            if (fixedSize != null)
+            {
+                layout.constants.put(offsetName, position);
+                layout.positions.put(name, layout.base + " + " + offsetName);
+                writeViewField(layout, anAttribute, name, layout.base, offsetName, false);
+                position = offsetName + " + " + fixedSize;
+                continue;
+            }
+            switch (anAttribute.getAttributeKind())
+            {
+                case OBJECT_LIST:
+                    String elementSize = null;
+                    GeneratedClass elementClass = classDescriptions.get(anAttribute.getType());
+                    if (anAttribute.getUnderlyingTypeIsEnum() ||
+                        ((elementClass != null) && hasMarshalledSizeConstant(elementClass)))
+                        elementSize = anAttribute.getType() + ".MARSHALLED_SIZE";
+                    String countPosition = layout.positions.get(anAttribute.getCountFieldName());
+                    GeneratedClassAttribute countField = null;
+                    for (GeneratedClassAttribute candidate : attributes)
+                    {
+                        if (candidate.getName().equals(anAttribute.getCountFieldName()))
+                            countField = candidate;
+                    }
+                    if ((elementSize == null) || (countPosition == null) || (countField == null) ||
+                        (countField.getAttributeKind() != ClassAttributeType.PRIMITIVE))
+                    {
+                        layout.stoppedAt = name;
+                        break;
+                    }
+                    layout.constants.put(offsetName, position);
+                    layout.positions.put(name, layout.base + " + " + offsetName);
+                    String elementBase = layout.base + " + " + offsetName + " + index * " + elementSize;
+                    if (anAttribute.getUnderlyingTypeIsEnum())
+                    {
+                        layout.methods.append("    /** Reads element of list ").append(name).append(" directly from buffer\n");
+                        layout.methods.append("     * @param index list index, less than get").append(initialCapital(name)).append("Count()\n");
+                        layout.methods.append("     * @return value of element */\n");
+                        layout.methods.append("    public ").append(anAttribute.getType()).append(" get").append(initialCapital(name)).append("(int index)\n");
+                        layout.methods.append("    {\n");
+                        layout.methods.append("        return ").append(anAttribute.getType()).append(".getEnumForValue(getUnsigned(").append(elementBase)
+                                      .append(", ").append(elementSize).append("));\n");
+                        layout.methods.append("    }\n\n");
+                    }
+                    else writeViewRecord(layout, elementClass, name, elementBase, "0", true);
+
+                    layout.methods.append("    /** Reads number of elements in list ").append(name).append(" from count field ").append(countField.getName()).append("\n");
+                    layout.methods.append("     * @return unsigned element count */\n");
+                    layout.methods.append("    public int get").append(initialCapital(name)).append("Count()\n");
+                    layout.methods.append("    {\n");
+                    layout.methods.append("        return getUnsigned(").append(countPosition).append(", ")
+                                  .append(primitiveSizes.getProperty(countField.getType())).append(");\n");
+                    layout.methods.append("    }\n\n");
+
+                    layout.helpers.put("endOf" + initialCapital(name),
+                        "    /** Absolute index following list " + name + ", computed on demand\n" +
+                        "     * @return absolute index */\n" +
+                        "    private int endOf" + initialCapital(name) + "()\n" +
+                        "    {\n" +
+                        "        return " + layout.base + " + " + offsetName + " + get" + initialCapital(name) + "Count() * " + elementSize + ";\n" +
+                        "    }\n\n");
+                    layout.base = "endOf" + initialCapital(name) + "()";
+                    position    = "0";
+                    break;
+
+                case PADTO16:
+                case PADTO32:
+                case PADTO64:
+                    String boundary = (anAttribute.getAttributeKind() == ClassAttributeType.PADTO16) ? "2" :
+                                      (anAttribute.getAttributeKind() == ClassAttributeType.PADTO32) ? "4" : "8";
+                    layout.constants.put(offsetName, position);
+                    layout.positions.put(name, layout.base + " + " + offsetName);
+                    layout.helpers.put("endOf" + initialCapital(name),
+                        "    /** Absolute index following padding " + name + ", computed on demand\n" +
+                        "     * @return absolute index */\n" +
+                        "    private int endOf" + initialCapital(name) + "()\n" +
+                        "    {\n" +
+                        "        return align(" + layout.base + " + " + offsetName + ", " + boundary + ");\n" +
+                        "    }\n\n");
+                    layout.base = "endOf" + initialCapital(name) + "()";
+                    position    = "0";
+                    break;
+
+                default: // variable-length arrays, optional or polymorphic records
+                    layout.stoppedAt = name;
+            }
+            if (layout.stoppedAt != null)
+                break;
+        }
+
+        // emit only the offset constants and segment helpers that accessors actually use, directly or indirectly
+        Set<String> usedNames = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(layout.methods.toString());
+        while (!pending.isEmpty())
+        {
+            Matcher matcher = VIEW_MEMBER_PATTERN.matcher(pending.remove());
+            while (matcher.find())
+            {
+                String memberName = matcher.group();
+                if (!usedNames.add(memberName))
+                    continue;
+                if (layout.constants.containsKey(memberName))
+                    pending.add(layout.constants.get(memberName));
+                if (layout.helpers.containsKey(memberName))
+                    pending.add(layout.helpers.get(memberName));
+            }
+        }
+
+        File outputFile = new File(viewFullPath);
+        outputFile.getParentFile().mkdirs();
+        outputFile.createNewFile();
+        try (PrintWriter pw = new PrintWriter(outputFile, StandardCharsets.UTF_8.name()))
+        {
+            writeLicense(pw, aClass);
+            pw.println("package " + languageProperties.getProperty("package") + ";");
+            pw.println();
+            pw.println("import edu.nps.moves.dis7.enumerations.*;");
+            pw.println("import java.nio.ByteBuffer;");
+            pw.println();
+            pw.println("/**");
+            pw.println(" * Flyweight view reading {@link " + aClass.getName() + "} fields directly from a received ByteBuffer without unmarshalling.");
+            pw.println(" * Accessors use absolute reads at offsets fixed by the record layout and neither allocate nor change buffer position.");
+            if (layout.stoppedAt != null)
+                pw.println(" * Fields from variable-length " + layout.stoppedAt + " onward are not provided, use {@link #toPdu()} instead.");
+            pw.println(" * @see PduView");
+            pw.println(" */");
+            pw.println("public final class " + viewName + " extends PduView");
+            pw.println("{");
+            layout.constants.forEach((constantName, value) -> {
+                if (usedNames.contains(constantName))
+                    pw.println("    private static final int " + constantName + " = " + value + ";");
+            });
+            pw.println();
+            pw.println("    /** Constructor for unbound view, invoke wrap() before reading fields */");
+            pw.println("    public " + viewName + "()");
+            pw.println("    {");
+            pw.println("    }");
+            pw.println();
+            pw.println("    /** Constructor bound to a PDU within a buffer");
+            pw.println("     * @param byteBuffer buffer holding received PDU, in network byte order");
+            pw.println("     * @param pduOffset absolute index of first byte of PDU within buffer */");
+            pw.println("    public " + viewName + "(ByteBuffer byteBuffer, int pduOffset)");
+            pw.println("    {");
+            pw.println("        wrap(byteBuffer, pduOffset);");
+            pw.println("    }");
+            pw.println();
+            pw.println("    @Override");
+            pw.println("    public " + viewName + " wrap(ByteBuffer byteBuffer, int pduOffset)");
+            pw.println("    {");
+            pw.println("        super.wrap(byteBuffer, pduOffset);");
+            pw.println("        return this;");
+            pw.println("    }");
+            pw.println();
+            pw.println("    @Override");
+            pw.println("    public " + viewName + " wrap(ByteBuffer byteBuffer)");
+            pw.println("    {");
+            pw.println("        super.wrap(byteBuffer);");
+            pw.println("        return this;");
+            pw.println("    }");
+            pw.println();
+            pw.println("    /** Unmarshal a new, independent PDU object from the viewed buffer, buffer position is unchanged");
+            pw.println("     * @return new PDU");
+            pw.println("     * @throws Exception unmarshalling exception */");
+            pw.println("    public " + aClass.getName() + " toPdu() throws Exception");
+            pw.println("    {");
+            pw.println("        " + aClass.getName() + " pdu = new " + aClass.getName() + "();");
+            pw.println("        pdu.unmarshal(buffer.slice(offset, buffer.limit() - offset)); // padding alignment is relative to start of PDU");
+            pw.println("        return pdu;");
+            pw.println("    }");
+            pw.println();
+            pw.print  (layout.methods);
+            layout.helpers.forEach((helperName, helper) -> {
+                if (usedNames.contains(helperName))
+                    pw.print(helper);
+            });
+            pw.println("}");
+        }
+    }
+
+    /**
+     * Generate accessors for the attributes of a fixed-layout record class, superclass attributes first
+     * @param layout view output
+     * @param aClass record class
+     * @param path dotted field path of record within PDU
+     * @param base absolute index expression that offsets are relative to
+     * @param start offset expression of first record field
+     * @param indexed whether record is an element of a list, accessors then take an index parameter
+     */
+    private void writeViewRecord(ViewLayout layout, GeneratedClass aClass, String path, String base, String start, boolean indexed)
+    {
+        LinkedList<GeneratedClassAttribute> attributes = new LinkedList<>();
+        GeneratedClass currentClass = aClass;
+        while (currentClass != null)
+        {
+            attributes.addAll(0, currentClass.getClassAttributes());
+            if (currentClass.getParentClass().equalsIgnoreCase("root"))
+                break;
+            currentClass = classDescriptions.get(currentClass.getParentClass());
+        }
+        String position = start;
+        for (GeneratedClassAttribute anAttribute : attributes)
+        {
+            if (anAttribute.shouldSerialize == false)
+                continue;
+            String fieldPath  = path + "." + anAttribute.getName();
+            String offsetName = viewConstantName(fieldPath) + "_OFFSET";
+            layout.constants.put(offsetName, position);
+            writeViewField(layout, anAttribute, fieldPath, base, offsetName, indexed);
+            position = offsetName + " + " + fixedMarshalledSizeExpression(anAttribute); // fixed, since record has MARSHALLED_SIZE
+        }
+    }
+
+    /**
+     * Generate accessor for a single fixed-size field, records are flattened into accessors for each of their fields
+     * @param layout view output
+     * @param anAttribute field of interest
+     * @param path dotted field path within PDU
+     * @param base absolute index expression that offset is relative to
+     * @param offsetName offset constant of field
+     * @param indexed whether field belongs to a list element, accessor then takes an index parameter
+     */
+    private void writeViewField(ViewLayout layout, GeneratedClassAttribute anAttribute, String path, String base, String offsetName, boolean indexed)
+    {
+        String getterName = "get";
+        for (String segment : path.split("\\."))
+            getterName += initialCapital(segment);
+        String parameter = indexed ? "int index" : "";
+        String where     = base + " + " + offsetName;
+        String type;
+        String body;
+        switch (anAttribute.getAttributeKind())
+        {
+            case PRIMITIVE:
+                type = types.getProperty(anAttribute.getType());
+                body = "buffer.get" + (type.equals("byte") ? "" : initialCapital(type)) + "(" + where + ")";
+                break;
+            case SISO_ENUM:
+                type = anAttribute.getType();
+                body = type + ".getEnumForValue(getUnsigned(" + where + ", " + type + ".MARSHALLED_SIZE))";
+                break;
+            case SISO_BITFIELD:
+                type = "long";
+                body = "getUnsignedLong(" + where + ", " + fixedMarshalledSizeExpression(anAttribute) + ")";
+                break;
+            case PRIMITIVE_LIST:
+                type      = types.getProperty(anAttribute.getType());
+                String arrayIndex = indexed ? "arrayIndex" : "index"; // list elements are selected by index
+                parameter = indexed ? "int index, int arrayIndex" : "int index";
+                body = "buffer.get" + (type.equals("byte") ? "" : initialCapital(type)) + "(" + where + " + " + arrayIndex + " * " +
+                       primitiveSizes.getProperty(anAttribute.getType()) + ")";
+                break;
+            case CLASSREF:
+                writeViewRecord(layout, classDescriptions.get(anAttribute.getType()), path, base, offsetName, indexed);
+                return;
+            default:
+                return;
+        }
+        if (anAttribute.isHidden())
+            return;
+        layout.methods.append("    /** Reads field ").append(path).append(" directly from buffer\n");
+        if (indexed)
+            layout.methods.append("     * @param index list index\n");
+        if (anAttribute.getAttributeKind() == ClassAttributeType.PRIMITIVE_LIST)
+            layout.methods.append("     * @param ").append(indexed ? "arrayIndex" : "index").append(" array index, less than ").append(anAttribute.getListLength()).append("\n");
+        if (anAttribute.getAttributeKind() == ClassAttributeType.SISO_BITFIELD)
+             layout.methods.append("     * @return raw bits of field */\n");
+        else layout.methods.append("     * @return value of field */\n");
+        layout.methods.append("    public ").append(type).append(" ").append(getterName).append("(").append(parameter).append(")\n");
+        layout.methods.append("    {\n");
+        layout.methods.append("        return ").append(body).append(";\n");
+        layout.methods.append("    }\n\n");
+    }
+
+    /** Offset constant or segment helper name referenced by generated view code */
+    private static final Pattern VIEW_MEMBER_PATTERN = Pattern.compile("\\b[A-Z][A-Z0-9_]*_OFFSET\\b|\\bendOf\\w+(?=\\(\\))");
+
+    /**
+     * Convert dotted camel-case field path to constant name, for example entityID.siteID to ENTITY_ID_SITE_ID
+     * @param path field path
+     * @return constant name
+     */
+    private String viewConstantName(String path)
+    {
+        return path.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').toUpperCase();
+    }
  
     private void writeGettersAndSetters(PrintWriter pw, GeneratedClass aClass)
     {
@@ -1513,10 +2387,10 @@ public class JavaGenerator extends AbstractGenerator
                         }
                         pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                         pw.println("  * @return same object to permit progressive setters */");
-                        pw.print("public synchronized ");
+                        pw.print("public " + synchronizedModifier);
                         pw.print(aClass.getName());
                         pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(" + beanType + " p" + this.initialCapital(anAttribute.getName()) + ")");
-                        pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                        pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                         pw.println("    return this;");
                         pw.println("}");
                         
@@ -1532,13 +2406,13 @@ public class JavaGenerator extends AbstractGenerator
                         }
                         pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                         pw.println("  * @return same object to permit progressive setters */");
-                        pw.print("public synchronized ");
+                        pw.print("public " + synchronizedModifier);
                         pw.print(aClass.getName());
                         pw.print(" set" + this.initialCapital(anAttribute.getName()) + "(" );
                         pw.print("int"); // allow int, will then coerce downcasting to beantype when setting
                         pw.print(" p" + this.initialCapital(anAttribute.getName()) + ")");
                         // TODO overflow checks when downcasting int to given beantype
-                        pw.println("{\n    " + anAttribute.getName() + " = (" + beanType + ") p" + this.initialCapital(anAttribute.getName()) + ";");
+                        pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = (" + beanType + ") p" + this.initialCapital(anAttribute.getName()) + ";");
                         pw.println("    return this;");
                         pw.println("}");
                         }
@@ -1573,10 +2447,10 @@ public class JavaGenerator extends AbstractGenerator
                         pw.println(" * @param p" + this.initialCapital(anAttribute.getName()) + " passed parameter");
                         pw.println(" * @return this object");
                         pw.println(" */");
-                        pw.print("public synchronized ");
+                        pw.print("public " + synchronizedModifier);
                         pw.print(aClass.getName());
                         pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(" + beanType + " p" + this.initialCapital(anAttribute.getName()) + ")");
-                        pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                        pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                         pw.println("    return this;");
                         pw.println("}");
 
@@ -1590,23 +2464,46 @@ public class JavaGenerator extends AbstractGenerator
                     pw.println("/** Setter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
                     pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                     pw.println("  * @return same object to permit progressive setters */");
-                    pw.print("public synchronized ");
+                    pw.print("public " + synchronizedModifier);
                     pw.print(aClass.getName());
                     pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(" + anAttribute.getType() + " p" + this.initialCapital(anAttribute.getName()) + ")");
-                    pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                    pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                     pw.println("    return this;");
                     pw.println("}");
                     
                     pw.println("/** Getter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
-                    pw.println("  * @return value of interest */");
-                    pw.println("public " + anAttribute.getType() + " get" + this.initialCapital(anAttribute.getName()) + "()");
-                    pw.println("{");
-                    if (anAttribute.listIsClass())
+                    if (isLazyRecord(anAttribute))
+                    {
+                        // unsynchronized like other getters, reading the field once so that null is never returned
+                        pw.println("  * allocating record with initial values on first use");
+                        pw.println("  * @return value of interest */");
+                        pw.println("public " + anAttribute.getType() + " get" + this.initialCapital(anAttribute.getName()) + "()");
+                        pw.println("{");
+                        pw.println("    " + anAttribute.getType() + " value = " + anAttribute.getName() + ";");
+                        pw.println("    if (value == null)");
+                        pw.println("        " + anAttribute.getName() + " = value = new " + anAttribute.getType() + "();");
+                        pw.println("    return value;");
+                    }
+                    else if (SUPPORTING_CLASSREF_TYPES.contains(anAttribute.getType()))
+                    {
+                        // hand-written supporting records have no frozen state, so callers of frozen objects get a copy
+                        pw.println("  * @return value of interest, a copy if this object is frozen */");
+                        pw.println("public " + anAttribute.getType() + " get" + this.initialCapital(anAttribute.getName()) + "()");
+                        pw.println("{");
+                        pw.println("    return frozen ? new " + anAttribute.getType() + "(" + anAttribute.getName() + ") : " + anAttribute.getName() + ";");
+                    }
+                    else
                     {
-                    pw.println("    if (" + anAttribute.getName() + " == null)");
-                    pw.println("        " + anAttribute.getName() + " = new " + aClass.getName() + "(); // ensure initial object present");
+                        pw.println("  * @return value of interest */");
+                        pw.println("public " + anAttribute.getType() + " get" + this.initialCapital(anAttribute.getName()) + "()");
+                        pw.println("{");
+                        if (anAttribute.listIsClass())
+                        {
+                            pw.println("    if (" + anAttribute.getName() + " == null)");
+                            pw.println("        " + anAttribute.getName() + " = new " + aClass.getName() + "(); // ensure initial object present");
+                        }
+                        pw.println("    return " + anAttribute.getName() + ";");
                     }
-                    pw.println("    return " + anAttribute.getName() + ";");
                     pw.println("}\n");
                     pw.println();
                     break;
@@ -1616,21 +2513,21 @@ public class JavaGenerator extends AbstractGenerator
                     pw.println("/** Setter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
                     pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                     pw.println("  * @return same object to permit progressive setters */");
-                    pw.print("public synchronized ");
+                    pw.print("public " + synchronizedModifier);
                     pw.print(aClass.getName());
                     pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(" + types.getProperty(anAttribute.getType()) + "[] p" + this.initialCapital(anAttribute.getName()) + ")");
 
                     if (!anAttribute.isFixedLength())
-                        pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                        pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                     else
-                        pw.println("{\n    " + anAttribute.getName() + " = Arrays.copyOf(p" + this.initialCapital(anAttribute.getName()) + ", " + anAttribute.getName() + ".length);");
+                        pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = Arrays.copyOf(p" + this.initialCapital(anAttribute.getName()) + ", " + anAttribute.getName() + ".length);");
 
                     pw.println("    return this;");
                     pw.println("}");
                     pw.println("/** Getter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
-                    pw.println("  * @return value of interest */");
+                    pw.println("  * @return value of interest, a copy if this object is frozen */");
                     pw.println("public " + types.getProperty(anAttribute.getType()) + "[] get" + this.initialCapital(anAttribute.getName()) + "()");
-                    pw.println("{\n    return " + anAttribute.getName() + "; \n}");
+                    pw.println("{\n    return frozen ? " + anAttribute.getName() + ".clone() : " + anAttribute.getName() + "; \n}");
                     pw.println();
                     break;
 
@@ -1638,10 +2535,10 @@ public class JavaGenerator extends AbstractGenerator
                     pw.println("/** Setter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
                     pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                     pw.println("  * @return same object to permit progressive setters */");
-                    pw.print("public synchronized ");
+                    pw.print("public " + synchronizedModifier);
                     pw.print(aClass.getName());
                     pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(List<" + anAttribute.getType() + ">" + " p" + this.initialCapital(anAttribute.getName()) + ")");
-                    pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                    pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                     pw.println("    return this;");
                     pw.println("}");
 
@@ -1657,10 +2554,10 @@ public class JavaGenerator extends AbstractGenerator
                     pw.println("/** Setter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
                     pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                     pw.println("  * @return same object to permit progressive setters */");
-                    pw.print("public synchronized ");
+                    pw.print("public " + synchronizedModifier);
                     pw.print(aClass.getName());
                     pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(" + enumtype + " p" + this.initialCapital(anAttribute.getName()) + ")");
-                    pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                    pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                     pw.println("    return this;");
                     pw.println("}");
 
@@ -1676,21 +2573,66 @@ public class JavaGenerator extends AbstractGenerator
                     pw.println("/** Setter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
                     pw.println("  * @param p" + this.initialCapital(anAttribute.getName()) + " new value of interest");
                     pw.println("  * @return same object to permit progressive setters */");
-                    pw.print("public synchronized ");
+                    pw.print("public " + synchronizedModifier);
                     pw.print(aClass.getName());
                     pw.println(" set" + this.initialCapital(anAttribute.getName()) + "(" + bitfieldtype + " p" + this.initialCapital(anAttribute.getName()) + ")");
-                    pw.println("{\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
+                    pw.println("{\n    checkNotFrozen();\n    " + anAttribute.getName() + " = p" + this.initialCapital(anAttribute.getName()) + ";");
                     pw.println("    return this;");
                     pw.println("}");
                     
                     pw.println("/** Getter for {@link "+aClass.getName()+"#"+anAttribute.getName()+"}");
-                    pw.println("  * @return value of interest */");
+                    pw.println("  * @return value of interest, a copy if this object is frozen */");
                     pw.println("public " + bitfieldtype + " get" + this.initialCapital(anAttribute.getName()) + "()");
-                    pw.println("{\n    return " + anAttribute.getName() + "; \n}");
+                    pw.println("{\n    return frozen ? (" + bitfieldtype + ") DisBitField.copyOf(" + anAttribute.getName() + ") : " + anAttribute.getName() + "; \n}");
                     pw.println();
                     break;
             }
         } // End of loop trough writing getter/setter methods
+
+        writeInlinedRecordAccessors(pw, aClass);
+    }
+
+    /**
+     * Write record getter and setter for each record attribute stored inline, so that code using the record
+     * objects is unaffected.  The getter materializes a single record object on first use and refreshes it
+     * from the inline fields; the setter copies record fields into the inline fields.
+     * @param pw PrintWriter
+     * @param aClass class of interest
+     */
+    private void writeInlinedRecordAccessors(PrintWriter pw, GeneratedClass aClass)
+    {
+        for (InlinedRecord inlinedRecord : inlinedRecords.getOrDefault(aClass.getName(), List.of())) {
+            String name      = inlinedRecord.attribute.getName();
+            String type      = inlinedRecord.attribute.getType();
+            String parameter = "p" + initialCapital(name);
+
+            pw.println("/** Setter for {@link " + aClass.getName() + "#" + name + "}, copying record fields into inline fields");
+            pw.println("  * @param " + parameter + " new value of interest");
+            pw.println("  * @return same object to permit progressive setters */");
+            pw.println("public " + synchronizedModifier + aClass.getName() + " set" + initialCapital(name) + "(" + type + " " + parameter + ")");
+            pw.println("{");
+            pw.println("    checkNotFrozen();");
+            for (int index = 0; index < inlinedRecord.fields.size(); index++)
+                pw.println("    " + inlinedRecord.inlineFields.get(index).getName() + " = " + parameter + "." + inlinedRecord.fields.get(index).getName() + ";");
+            pw.println("    return this;");
+            pw.println("}");
+
+            pw.println("/** Getter for {@link " + aClass.getName() + "#" + name + "}, a record view of inline fields that is");
+            pw.println("  * allocated on first use and refreshed on each call.  Changes to the record are not written back,");
+            pw.println("  * use set" + initialCapital(name) + "() or in-place setters such as set" +
+                       initialCapital(inlinedRecord.inlineFields.get(0).getName()) + "() instead.");
+            pw.println("  * @return value of interest */");
+            pw.println("public " + synchronizedModifier + type + " get" + initialCapital(name) + "()");
+            pw.println("{");
+            pw.println("    if (frozen)");
+            pw.println("        return " + name + "; // materialized and frozen by freezeContents()");
+            pw.println("    if (" + name + " == null)");
+            pw.println("        " + name + " = new " + type + "();");
+            for (int index = 0; index < inlinedRecord.fields.size(); index++)
+                pw.println("    " + name + "." + inlinedRecord.fields.get(index).getName() + " = " + inlinedRecord.inlineFields.get(index).getName() + ";");
+            pw.println("    return " + name + ";");
+            pw.println("}\n");
+        }
     }
 
     /**
@@ -1739,8 +2681,9 @@ public class JavaGenerator extends AbstractGenerator
                         if (bitfield.description != null) {
                             pw.println("/** \n * " + bitfield.description + "\n */");
                         }
-                        pw.println("public synchronized void set" + cappedIvar + "_" + bitfield.name + "(int val)");
+                        pw.println("public " + synchronizedModifier + "void set" + cappedIvar + "_" + bitfield.name + "(int val)");
                         pw.println("{");
+                        pw.println("    checkNotFrozen();");
                         pw.println("    " + attributeType + " " + " aVal = 0;");
                         pw.println("    this." + bitfield.parentAttribute.getName() + " &= (" + attributeType + ")(~" + bitfield.mask + "); // clear bits");
                         pw.println("    aVal = (" + attributeType + ")(val << " + shiftBits + ");");
@@ -1773,8 +2716,10 @@ public class JavaGenerator extends AbstractGenerator
  
         if (aClass.getName().endsWith("Pdu"))
             pw.println("@Override");
-        pw.println("public synchronized void marshal(DataOutputStream dos) throws Exception");
+        pw.println("public " + synchronizedModifier + "void marshal(DataOutputStream dos) throws Exception");
         pw.println("{");
+        if (hasPadding(aClass))
+            pw.println("    int startSize = dos.size(); // padding is relative to start of object");
 
         // If we're a sublcass of another class, we should first call super
         // to make sure the superclass's ivars are marshaled out.
@@ -1839,6 +2784,9 @@ public class JavaGenerator extends AbstractGenerator
                     	pw.println("       if (" + anAttribute.getName() + " != null)");
                     	pw.println("           " + anAttribute.getName() + ".marshal(dos);");
                     }
+                    else if (isLazyRecord(anAttribute)) {
+                    	pw.println("       " + lazyRecordGetter(anAttribute) + ".marshal(dos);");
+                    }
                     else {
                     	pw.println("       " + anAttribute.getName() + ".marshal(dos);");
                     }
@@ -1880,13 +2828,9 @@ public class JavaGenerator extends AbstractGenerator
                     break;
                 
                 case PADTO16:
-                    pw.println("       "+anAttribute.getName()+" = new byte[Align.to16bits(dos)];");
-                    break;
                 case PADTO32:
-                    pw.println("       "+anAttribute.getName()+" = new byte[Align.to32bits(dos)];");
-                    break;
                 case PADTO64:
-                    pw.println("       "+anAttribute.getName()+" = new byte[Align.to64bits(dos)];");
+                    pw.println("       Align.writePadding(dos, Align.paddingTo" + paddingBits(anAttribute) + "bits(dos.size() - startSize)); // " + anAttribute.getName());
                     break;
                     
             }
@@ -1908,18 +2852,20 @@ public class JavaGenerator extends AbstractGenerator
         pw.println(" * @see java.io.DataInputStream");
         pw.println(" * @see <a href=\"https://en.wikipedia.org/wiki/Marshalling_(computer_science)\" target=\"_blank\">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>");
         pw.println(" * @param dis the InputStream");
-        pw.println(" * @return marshalled serialized size in bytes");
+        pw.println(" * @return number of bytes consumed while unmarshalling");
         pw.println(" */");
 
         if (aClass.getName().endsWith("Pdu"))
             pw.println("@Override");
-        pw.println("public synchronized int unmarshal(DataInputStream dis) throws Exception");
+        pw.println("public " + synchronizedModifier + "int unmarshal(DataInputStream dis) throws Exception");
         pw.println("{");
         pw.flush();
         pw.println("    int uPosition = 0;");
         
         if (!(aClass.getParentClass().equalsIgnoreCase("root")))
             pw.println("    uPosition += super.unmarshal(dis);\n");
+        else
+            pw.println("    checkNotFrozen();\n");
 
         pw.println("    try \n    {");
 
@@ -1950,7 +2896,7 @@ public class JavaGenerator extends AbstractGenerator
                     }
                     else {
                         pw.println("        " + attributeName + " = dis.read" + capped + "();");
-                        pw.println("        uPosition += 4;");
+                        pw.println("        uPosition += " + primitiveSizes.getProperty(anAttribute.getType()) + ";");
                     }
                     pw.flush();
                     break;
@@ -1966,11 +2912,18 @@ public class JavaGenerator extends AbstractGenerator
                     	pw.println("        if (" + anAttribute.getName() + " != null)");
                     	pw.println("            uPosition += " + attributeName + ".unmarshal(dis);");
                     }
+                	else if (IMMUTABLE_CLASSREF_TYPES.contains(anAttribute.getType())) {
+                		pw.println("        " + attributeName + " = " + attributeName + ".unmarshal" + anAttribute.getType() + "(dis); // immutable, reassigned");
+                		pw.println("        uPosition += " + attributeName + ".getMarshalledSize();");
+                	}
+                	else if (isLazyRecord(anAttribute)) {
+                		pw.println("        uPosition += " + lazyRecordGetter(anAttribute) + ".unmarshal(dis);");
+                	}
                 	else {
                 		pw.println("        uPosition += " + attributeName + ".unmarshal(dis);");
                 	}
                 	if (aClass.getName().equals("IFFPdu") && anAttribute.getName().equals("fundamentalParameters")) {
-                    	pw.println("        if (fundamentalParameters.getInformationLayers() != 0)");
+                    	pw.println("        if (getFundamentalParameters().getInformationLayers() != 0)");
                     	pw.println("        	checkWhichLayersNeedsUnmarshaling();");
                     }
                     break;
@@ -1996,6 +2949,8 @@ public class JavaGenerator extends AbstractGenerator
                     break;
                     
                 case OBJECT_LIST:
+                    if (anAttribute.getUnderlyingTypeIsEnum() || (marshalTypes.getProperty(anAttribute.getType()) == null))
+                        pw.println("        " + anAttribute.getName() + ".clear(); // replace prior elements, list capacity is retained");
                     if (anAttribute.getCountFieldName() != null)
                         pw.println("        for (int idx = 0; idx < " + anAttribute.getCountFieldName() + "; idx++)");
                     else
@@ -2027,24 +2982,17 @@ public class JavaGenerator extends AbstractGenerator
                     break;
                     
                 case PADTO16:
-                    pw.println("        "+anAttribute.getName() + " = new byte[Align.from16bits(uPosition,dis)];");
-                    pw.println("        uPosition += " + anAttribute.getName() + ".length;");
-                    break;
                 case PADTO32:
-                    pw.println("        "+anAttribute.getName() + " = new byte[Align.from32bits(uPosition,dis)];");
-                    pw.println("        uPosition += " + anAttribute.getName() + ".length;");
-                    break;
                 case PADTO64:
-                    pw.println("        "+anAttribute.getName() + " = new byte[Align.from64bits(uPosition,dis)];");
-                    pw.println("        uPosition += " + anAttribute.getName() + ".length;");
-                    break;                   
+                    pw.println("        uPosition += Align.from" + paddingBits(anAttribute) + "bits(uPosition, dis); // " + attributeName);
+                    break;
             }
         } // End of loop through ivars for writing the unmarshal method
 
         pw.println("    }\n    catch(Exception e)");
         pw.println("    { \n      System.err.println(e); \n    }");
         
-        pw.println("    return getMarshalledSize();");
+        pw.println("    return uPosition; // bytes consumed");
         pw.println("}\n");
     }
 
@@ -2061,8 +3009,10 @@ public class JavaGenerator extends AbstractGenerator
         pw.println(" */");
         if (aClass.getName().endsWith("Pdu"))
             pw.println("@Override");
-        pw.println("public synchronized void marshal(java.nio.ByteBuffer byteBuffer) throws Exception");
+        pw.println("public " + synchronizedModifier + "void marshal(java.nio.ByteBuffer byteBuffer) throws Exception");
         pw.println("{");
+        if (hasPadding(aClass))
+            pw.println("   int startPosition = byteBuffer.position(); // padding is relative to start of object");
 
         // If we're a sublcass of another class, we should first call super
         // to make sure the superclass's ivars are marshaled out.
@@ -2107,6 +3057,9 @@ public class JavaGenerator extends AbstractGenerator
                     	pw.println("   if (" + anAttribute.getName() + " != null)");
                     	pw.println("       " + anAttribute.getName() + ".marshal(byteBuffer);" );
                     }
+                	else if (isLazyRecord(anAttribute)) {
+                		pw.println("   " + lazyRecordGetter(anAttribute) + ".marshal(byteBuffer);" );
+                	}
                 	else {
                 		pw.println("   " + anAttribute.getName() + ".marshal(byteBuffer);" );
                 	}
@@ -2169,13 +3122,9 @@ public class JavaGenerator extends AbstractGenerator
                     break;
                                   
                 case PADTO16:
-                    pw.println("   "+anAttribute.getName()+" = new byte[Align.to16bits(byteBuffer)];");
-                    break;
                 case PADTO32:
-                    pw.println("   "+anAttribute.getName()+" = new byte[Align.to32bits(byteBuffer)];");
-                    break;
                 case PADTO64:
-                    pw.println("   "+anAttribute.getName()+" = new byte[Align.to64bits(byteBuffer)];");
+                    pw.println("   Align.writePadding(byteBuffer, Align.paddingTo" + paddingBits(anAttribute) + "bits(byteBuffer.position() - startPosition)); // " + anAttribute.getName());
                     break;
             }   
         } // End of loop through the ivars for a marshal method
@@ -2185,138 +3134,398 @@ public class JavaGenerator extends AbstractGenerator
 
     private void writeUnmarshallMethodWithByteBuffer(PrintWriter pw, GeneratedClass aClass)
     {
+        if (flatCodecs && isFlatUnmarshalSupported(aClass))
+        {
+            writeFlatUnmarshalMethodWithByteBuffer(pw, aClass);
+            return;
+        }
         pw.println();
         pw.println("/**");
-        pw.println(" * Unpacks a Pdu from the underlying data.");
+        pw.println(" * Unpacks a Pdu from the underlying data.  A truncated buffer is signalled to the caller by BufferUnderflowException,");
+        pw.println(" * as for flattened unmarshal methods, and fields read before the end of the buffer keep their new values.");
         pw.println(" * @throws java.nio.BufferUnderflowException if byteBuffer is too small");
         pw.println(" * @see java.nio.ByteBuffer");
         pw.println(" * @see <a href=\"https://en.wikipedia.org/wiki/Marshalling_(computer_science)\" target=\"_blank\">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>");
         pw.println(" * @param byteBuffer The ByteBuffer at the position to begin reading");
-        pw.println(" * @return marshalled serialized size in bytes");
+        pw.println(" * @return number of bytes consumed while unmarshalling");
         pw.println(" * @throws Exception ByteBuffer-generated exception");
         pw.println(" */");
 
         if (aClass.getName().endsWith("Pdu"))
             pw.println("@Override");
-        pw.println("public synchronized int unmarshal(java.nio.ByteBuffer byteBuffer) throws Exception"); // throws EnumNotFoundException");
+        pw.println("public " + synchronizedModifier + "int unmarshal(java.nio.ByteBuffer byteBuffer) throws Exception"); // throws EnumNotFoundException");
         pw.println("{");
+        pw.println("    int startPosition = byteBuffer.position();");
 
         if(!(aClass.getParentClass().equalsIgnoreCase("root")))
             pw.println("    super.unmarshal(byteBuffer);\n");
+        else
+            pw.println("    checkNotFrozen();\n");
 
-        pw.println("    try");
-        pw.println("    {");
+        // BufferUnderflowException propagates to the caller, as thrown by the flattened method
+        StringWriter body = new StringWriter();
+        PrintWriter bodyWriter = new PrintWriter(body);
         // Loop through the class attributes, generating the output for each.
         for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes()) { 
 
             if(anAttribute.shouldSerialize == false) {
-                 pw.println("        // attribute " + anAttribute.getName() + " marked as not serialized");
+                 bodyWriter.println("        // attribute " + anAttribute.getName() + " marked as not serialized");
                  continue;
             }
-            pw.println("        // attribute " + anAttribute.getName() + " marked as not serialized");
-            String marshalType;
-            String capped;
-            switch(anAttribute.getAttributeKind()) {
-                case PRIMITIVE:
-                    marshalType = unmarshalTypes.getProperty(anAttribute.getType());
+            bodyWriter.println("        // attribute " + anAttribute.getName() + " marked as not serialized");
+            writeUnmarshalAttributeWithByteBuffer(bodyWriter, aClass, anAttribute);
+        } // End of loop through ivars for writing the unmarshal method
+        bodyWriter.flush();
+        for (String line : body.toString().split("\\R"))
+            pw.println(line.startsWith("    ") ? line.substring(4) : line);
+
+        pw.println("    return byteBuffer.position() - startPosition; // bytes consumed");
+        pw.println("}\n");
+    }
+
+    /**
+     * Write relative-read unmarshalling statements for a single attribute, advancing buffer position
+     * @param pw output
+     * @param aClass class declaring the attribute
+     * @param anAttribute serialized attribute of interest
+     */
+    private void writeUnmarshalAttributeWithByteBuffer(PrintWriter pw, GeneratedClass aClass, GeneratedClassAttribute anAttribute)
+    {
+        String marshalType;
+        String capped;
+        switch(anAttribute.getAttributeKind()) {
+            case PRIMITIVE:
+                marshalType = unmarshalTypes.getProperty(anAttribute.getType());
+                capped = this.initialCapital(marshalType);
+                if( capped.equals("Byte") )
+                    capped = "";
+            
+                if(marshalType.equalsIgnoreCase("UnsignedByte"))
+                    pw.println("        " + anAttribute.getName() + " = (byte)(byteBuffer.get() & 0xFF);");               
+                else if (marshalType.equalsIgnoreCase("UnsignedShort"))
+                    pw.println("        " + anAttribute.getName() + " = (short)(byteBuffer.getShort() & 0xFFFF);");               
+                else
+                    pw.println("        " + anAttribute.getName() + " = byteBuffer.get" + capped + "();");
+                
+                break;
+                
+            case SISO_ENUM:
+                pw.println("        " + anAttribute.getName() + " = "+anAttribute.getType()+".unmarshalEnum(byteBuffer);");
+                break;
+                
+            case SISO_BITFIELD:
+            case CLASSREF:
+            	if (anAttribute.getName().startsWith("iFFPduLayer")) {
+                	pw.println("        if (" + anAttribute.getName() + " != null)");
+                	pw.println("            " + anAttribute.getName() + ".unmarshal(byteBuffer);" );
+                }
+            	else if (IMMUTABLE_CLASSREF_TYPES.contains(anAttribute.getType())) {
+            		pw.println("        " + anAttribute.getName() + " = " + anAttribute.getName() + ".unmarshal" + anAttribute.getType() + "(byteBuffer); // immutable, reassigned");
+            	}
+            	else if (isLazyRecord(anAttribute)) {
+            		pw.println("        " + lazyRecordGetter(anAttribute) + ".unmarshal(byteBuffer);" );
+            	}
+            	else {
+            		pw.println("        " + anAttribute.getName() + ".unmarshal(byteBuffer);" );
+            	}
+            	if (aClass.getName().equals("IFFPdu") && anAttribute.getName().equals("fundamentalParameters")) {
+                	pw.println("        if (getFundamentalParameters().getInformationLayers() != 0)");
+                	pw.println("        	checkWhichLayersNeedsUnmarshaling();");
+                }
+                break;
+
+            case PRIMITIVE_LIST:
+                pw.println("        for (int idx = 0; idx < " + anAttribute.getName() + ".length; idx++)");
+
+                marshalType = marshalTypes.getProperty(anAttribute.getType());
+
+                if(marshalType == null) // It's a class  // should be unnecessary w/ refactor
+                    pw.println("            " + anAttribute.getName() + "[idx].unmarshal(byteBuffer);" );
+                else { // It's a primitive
                     capped = this.initialCapital(marshalType);
                     if( capped.equals("Byte") )
-                        capped = "";
+                         capped = "";
+                    pw.println("            " +  anAttribute.getName() + "[idx] = byteBuffer.get" + capped + "();");
+                }
+                break;
                 
-                    if(marshalType.equalsIgnoreCase("UnsignedByte"))
-                        pw.println("        " + anAttribute.getName() + " = (byte)(byteBuffer.get() & 0xFF);");               
-                    else if (marshalType.equalsIgnoreCase("UnsignedShort"))
-                        pw.println("        " + anAttribute.getName() + " = (short)(byteBuffer.getShort() & 0xFFFF);");               
-                    else
-                        pw.println("        " + anAttribute.getName() + " = byteBuffer.get" + capped + "();");
-                    
-                    break;
-                    
-                case SISO_ENUM:
-                    pw.println("        " + anAttribute.getName() + " = "+anAttribute.getType()+".unmarshalEnum(byteBuffer);");
-                    break;
-                    
-                case SISO_BITFIELD:
-                case CLASSREF:
-                	if (anAttribute.getName().startsWith("iFFPduLayer")) {
-                    	pw.println("        if (" + anAttribute.getName() + " != null)");
-                    	pw.println("            " + anAttribute.getName() + ".unmarshal(byteBuffer);" );
-                    }
-                	else {
-                		pw.println("        " + anAttribute.getName() + ".unmarshal(byteBuffer);" );
-                	}
-                	if (aClass.getName().equals("IFFPdu") && anAttribute.getName().equals("fundamentalParameters")) {
-                    	pw.println("        if (fundamentalParameters.getInformationLayers() != 0)");
-                    	pw.println("        	checkWhichLayersNeedsUnmarshaling();");
-                    }
-                    break;
-
-                case PRIMITIVE_LIST:
-                    pw.println("        for (int idx = 0; idx < " + anAttribute.getName() + ".length; idx++)");
+            case OBJECT_LIST:
+                if (anAttribute.getUnderlyingTypeIsEnum() || (marshalTypes.getProperty(anAttribute.getType()) == null))
+                    pw.println("        " + anAttribute.getName() + ".clear(); // replace prior elements, list capacity is retained");
+                if(anAttribute.getCountFieldName() != null)
+                    pw.println("        for (int idx = 0; idx < " + anAttribute.getCountFieldName() + "; idx++)");
+                else
+                    pw.println("        for (int idx = 0; idx < " + anAttribute.getName() + ".size(); idx++)");
+            
+                pw.println("        {");
 
+                if(anAttribute.getUnderlyingTypeIsEnum()) {
+                    pw.println("        " +anAttribute.getType() + " anX = "+anAttribute.getType() + ".unmarshalEnum(byteBuffer);");
+                    pw.println("        " + anAttribute.getName() + ".add(anX);");
+                }
+                else {
                     marshalType = marshalTypes.getProperty(anAttribute.getType());
 
-                    if(marshalType == null) // It's a class  // should be unnecessary w/ refactor
-                        pw.println("            " + anAttribute.getName() + "[idx].unmarshal(byteBuffer);" );
-                    else { // It's a primitive
+                    if(marshalType == null) { // It's a class
+                        pw.println("        " + anAttribute.getType() + " anX = new " + anAttribute.getType() + "();");                           
+                        pw.println("        anX.unmarshal(byteBuffer);");
+                        pw.println("        " + anAttribute.getName() + ".add(anX);");
+                    }
+                    else { // It's a primitive  // should be unnecessary now w/ refactor
                         capped = this.initialCapital(marshalType);
                         if( capped.equals("Byte") )
-                             capped = "";
-                        pw.println("            " +  anAttribute.getName() + "[idx] = byteBuffer.get" + capped + "();");
+                            capped = "";
+                        pw.println("        byteBuffer.get" + capped + "(" + anAttribute.getName() + ");");
                     }
-                    break;
-                    
-                case OBJECT_LIST:
-                    if(anAttribute.getCountFieldName() != null)
-                        pw.println("        for (int idx = 0; idx < " + anAttribute.getCountFieldName() + "; idx++)");
-                    else
-                        pw.println("        for (int idx = 0; idx < " + anAttribute.getName() + ".size(); idx++)");
+                }
+                pw.println("        }");
+                pw.println();
+                break;
                 
-                    pw.println("        {");
+                                
+            case PADTO16:
+            case PADTO32:
+            case PADTO64:
+                // startPosition is start of object, declared by each unmarshal(ByteBuffer) method
+                pw.println("        Align.skipPadding(byteBuffer, Align.paddingTo" + paddingBits(anAttribute) + "bits(byteBuffer.position() - startPosition)); // " + anAttribute.getName());
+                break;
+        }
+    }
 
-                    if(anAttribute.getUnderlyingTypeIsEnum()) {
-                        pw.println("        " +anAttribute.getType() + " anX = "+anAttribute.getType() + ".unmarshalEnum(byteBuffer);");
-                        pw.println("        " + anAttribute.getName() + ".add(anX);");
-                    }
-                    else {
-                        marshalType = marshalTypes.getProperty(anAttribute.getType());
+    /** Accumulated output while flattening the record layout of one unmarshal(ByteBuffer) method */
+    private static class FlatLayout
+    {
+        /** offset constant declarations */
+        StringBuilder constants  = new StringBuilder();
+        /** unmarshalling statements */
+        StringBuilder statements = new StringBuilder();
+        /** offset expression of next field within current segment, restarted following each variable-length field */
+        String position = "0";
+        /** size of fixed-layout prefix, set when the first variable-length field is reached */
+        String prefixSize;
+        /** offset constant of 16-bit PDU header length field, if within fixed-layout prefix */
+        String lengthOffset;
+        /** index in statements where the current segment following a variable-length field begins, or -1 */
+        int segmentStart = -1;
+
+        /** Insert a bounds check of the fixed-layout fields read so far in the current segment at its start */
+        void checkSegment()
+        {
+            if ((segmentStart >= 0) && !position.equals("0"))
+                statements.insert(segmentStart, "    if (byteBuffer.limit() - segmentPosition < " + position + ")\n" +
+                                                "        throw new java.nio.BufferUnderflowException();\n");
+            segmentStart = -1;
+        }
+    }
 
-                        if(marshalType == null) { // It's a class
-                            pw.println("        " + anAttribute.getType() + " anX = new " + anAttribute.getType() + "();");                           
-                            pw.println("        anX.unmarshal(byteBuffer);");
-                            pw.println("        " + anAttribute.getName() + ".add(anX);");
-                        }
-                        else { // It's a primitive  // should be unnecessary now w/ refactor
-                            capped = this.initialCapital(marshalType);
-                            if( capped.equals("Byte") )
-                                capped = "";
-                            pw.println("        byteBuffer.get" + capped + "(" + anAttribute.getName() + ");");
-                        }
-                    }
-                    pw.println("        }");
-                    pw.println();
+    /**
+     * Attributes of a class in wire order, superclass attributes first
+     * @param aClass class of interest
+     * @return attributes, including those not serialized
+     */
+    private List<GeneratedClassAttribute> getAttributesInWireOrder(GeneratedClass aClass)
+    {
+        LinkedList<GeneratedClassAttribute> attributes = new LinkedList<>();
+        GeneratedClass currentClass = aClass;
+        while (currentClass != null)
+        {
+            attributes.addAll(0, currentClass.getClassAttributes());
+            if (currentClass.getParentClass().equalsIgnoreCase("root"))
+                break;
+            currentClass = classDescriptions.get(currentClass.getParentClass());
+        }
+        return attributes;
+    }
+
+    /**
+     * Whether all serialized attributes of a class and its superclasses can be assigned directly by name,
+     * that is, no subclass attribute hides a superclass attribute of the same name
+     * @param aClass class of interest
+     * @return whether attribute names are unique
+     */
+    private boolean hasUniqueAttributeNames(GeneratedClass aClass)
+    {
+        Set<String> names = new HashSet<>();
+        for (GeneratedClassAttribute anAttribute : getAttributesInWireOrder(aClass))
+        {
+            if (anAttribute.shouldSerialize && !names.add(anAttribute.getName()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether a flattened unmarshal(ByteBuffer) method is generated for a class.  IFF layers are decoded
+     * conditionally by hand-written code, so IFF classes keep relative reads.
+     * @param aClass class of interest
+     * @return whether writeFlatUnmarshalMethodWithByteBuffer() applies
+     */
+    private boolean isFlatUnmarshalSupported(GeneratedClass aClass)
+    {
+        if (!hasUniqueAttributeNames(aClass))
+            return false;
+        for (GeneratedClassAttribute anAttribute : getAttributesInWireOrder(aClass))
+        {
+            if (anAttribute.getName().startsWith("iFFPduLayer"))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Generate straight-line unmarshal(ByteBuffer) method.  Fields of this class and all superclasses are walked
+     * in wire order, and fields of nested fixed-layout records (EntityID, Vector3Double, EntityType...) are
+     * flattened into absolute-index reads at offsets fixed at generation time, so no nested unmarshal calls occur.
+     * Buffer length is checked once up front against the fixed-layout prefix and, for PDUs, the header length field,
+     * and once more for each run of fixed-layout fields following a variable-length field.
+     * Variable-length fields use relative reads, and the offsets of subsequent fields are relative to where they end.
+     * @param pw output
+     * @param aClass class of interest
+     */
+    private void writeFlatUnmarshalMethodWithByteBuffer(PrintWriter pw, GeneratedClass aClass)
+    {
+        FlatLayout layout = new FlatLayout();
+        writeFlatAttributes(layout, aClass, getAttributesInWireOrder(aClass), "");
+        layout.checkSegment();
+        if (layout.prefixSize == null)
+            layout.prefixSize = layout.position; // entire layout is fixed
+
+        pw.println();
+        pw.println("  /* Offsets of fixed-layout fields read by unmarshal(ByteBuffer), relative to start of segment */");
+        pw.print  (layout.constants);
+        pw.println("  /** Size of fixed-layout prefix, checked once before reading */");
+        pw.println("  private static final int FIXED_PREFIX_SIZE = " + layout.prefixSize + ";");
+        pw.println();
+        pw.println("/**");
+        pw.println(" * Unpacks a Pdu from the underlying data.  Fixed-layout fields, including those of nested records, are read");
+        pw.println(" * at absolute indices following a single bounds check for each run of them.  A truncated buffer is signalled");
+        pw.println(" * to the caller by BufferUnderflowException, as for unmarshal methods with relative reads.");
+        pw.println(" * @throws java.nio.BufferUnderflowException if byteBuffer is too small, checked against the fixed-layout prefix and PDU header length before reading");
+        pw.println(" * @see java.nio.ByteBuffer");
+        pw.println(" * @see <a href=\"https://en.wikipedia.org/wiki/Marshalling_(computer_science)\" target=\"_blank\">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>");
+        pw.println(" * @param byteBuffer The ByteBuffer at the position to begin reading");
+        pw.println(" * @return number of bytes consumed while unmarshalling");
+        pw.println(" * @throws Exception ByteBuffer-generated exception");
+        pw.println(" */");
+        if (aClass.getName().endsWith("Pdu"))
+            pw.println("@Override");
+        pw.println("public " + synchronizedModifier + "int unmarshal(java.nio.ByteBuffer byteBuffer) throws Exception");
+        pw.println("{");
+        pw.println("    checkNotFrozen();"); // parent fields are read here too, rather than by super.unmarshal()
+        pw.println("    int startPosition   = byteBuffer.position();");
+        pw.println("    int segmentPosition = startPosition;");
+        pw.println("    if (byteBuffer.remaining() < FIXED_PREFIX_SIZE)");
+        pw.println("        throw new java.nio.BufferUnderflowException();");
+        if (layout.lengthOffset != null)
+        {
+            // header length lies within the fixed-layout prefix, so is only read once the prefix is known to be present
+            pw.println("    int pduLength       = Short.toUnsignedInt(byteBuffer.getShort(startPosition + " + layout.lengthOffset + ")); // header length");
+            pw.println("    if (byteBuffer.remaining() < pduLength)");
+            pw.println("        throw new java.nio.BufferUnderflowException();");
+        }
+        pw.println();
+        String trailingSegment = "    segmentPosition = byteBuffer.position();\n";
+        if (layout.position.equals("0") && (layout.statements.length() >= trailingSegment.length()) &&
+            layout.statements.substring(layout.statements.length() - trailingSegment.length()).equals(trailingSegment))
+            layout.statements.setLength(layout.statements.length() - trailingSegment.length()); // no segment follows
+        pw.print  (layout.statements);
+        if (!layout.position.equals("0"))
+            pw.println("    byteBuffer.position(segmentPosition + " + layout.position + ");");
+        pw.println("    return byteBuffer.position() - startPosition; // bytes consumed");
+        pw.println("}\n");
+    }
+
+    /**
+     * Generate unmarshalling statements for attributes in wire order, flattening nested fixed-layout records
+     * @param layout flattened method output
+     * @param aClass class declaring the attributes, used for relative reads of variable-length fields
+     * @param attributes attributes in wire order
+     * @param path field access prefix, for example "entityType." for fields of a nested record
+     */
+    private void writeFlatAttributes(FlatLayout layout, GeneratedClass aClass, List<GeneratedClassAttribute> attributes, String path)
+    {
+        for (GeneratedClassAttribute anAttribute : attributes)
+        {
+            if (anAttribute.shouldSerialize == false)
+                continue;
+            String name       = path + anAttribute.getName();
+            String fixedSize  = fixedMarshalledSizeExpression(anAttribute);
+            String offsetName = viewConstantName(name) + "_OFFSET";
+            if ((anAttribute.getAttributeKind() != ClassAttributeType.CLASSREF) || (fixedSize == null) ||
+                 IMMUTABLE_CLASSREF_TYPES.contains(anAttribute.getType()) || SUPPORTING_CLASSREF_TYPES.contains(anAttribute.getType()))
+                layout.constants.append("  private static final int ").append(offsetName).append(" = ").append(layout.position).append(";\n");
+            if (fixedSize == null)
+            {
+                // variable length: relative reads from its offset, subsequent offsets are relative to where it ends
+                if (layout.prefixSize == null)
+                    layout.prefixSize = layout.position;
+                layout.checkSegment();
+                StringWriter relative = new StringWriter();
+                writeUnmarshalAttributeWithByteBuffer(new PrintWriter(relative), aClass, anAttribute);
+                layout.statements.append("    byteBuffer.position(segmentPosition + ").append(offsetName).append("); // variable length\n");
+                for (String line : relative.toString().split("\\R"))
+                    layout.statements.append(line.startsWith("    ") ? line.substring(4) : line).append("\n");
+                layout.statements.append("    segmentPosition = byteBuffer.position();\n");
+                layout.segmentStart = layout.statements.length();
+                layout.position = "0";
+                continue;
+            }
+            String index = "segmentPosition + " + offsetName;
+            switch (anAttribute.getAttributeKind())
+            {
+                case PRIMITIVE:
+                    String type = types.getProperty(anAttribute.getType());
+                    if (path.isEmpty() && anAttribute.getName().equals("length") && type.equals("short") &&
+                        aClass.getName().endsWith("Pdu") && (layout.prefixSize == null))
+                        layout.lengthOffset = offsetName;
+                    layout.statements.append("    ").append(name).append(" = byteBuffer.get")
+                                     .append(type.equals("byte") ? "" : initialCapital(type)).append("(").append(index).append(");\n");
                     break;
-                    
-                                    
-                case PADTO16:
-                    pw.println("        "+anAttribute.getName() + " = new byte[Align.from16bits(byteBuffer)];");
+                case SISO_ENUM:
+                    layout.statements.append("    ").append(name).append(" = ").append(anAttribute.getType())
+                                     .append(".unmarshalEnum(byteBuffer, ").append(index).append(");\n");
                     break;
-                case PADTO32:
-                    pw.println("        "+anAttribute.getName() + " = new byte[Align.from32bits(byteBuffer)];");
+                case SISO_BITFIELD:
+                    layout.statements.append("    ").append(name).append(".unmarshal(byteBuffer, ").append(index).append(");\n");
                     break;
-                case PADTO64:
-                    pw.println("        "+anAttribute.getName() + " = new byte[Align.from64bits(byteBuffer)];");
+                case PRIMITIVE_LIST:
+                    String elementType = types.getProperty(anAttribute.getType());
+                    if (elementType.equals("byte"))
+                        layout.statements.append("    byteBuffer.get(").append(index).append(", ").append(name).append("); // bulk absolute read\n");
+                    else
+                    {
+                        layout.statements.append("    for (int idx = 0; idx < ").append(name).append(".length; idx++)\n");
+                        layout.statements.append("        ").append(name).append("[idx] = byteBuffer.get").append(initialCapital(elementType))
+                                         .append("(").append(index).append(" + idx * ").append(primitiveSizes.getProperty(anAttribute.getType())).append(");\n");
+                    }
+                    break;
+                case CLASSREF:
+                    GeneratedClass referencedClass = classDescriptions.get(anAttribute.getType());
+                    if (isLazyRecord(anAttribute))
+                        layout.statements.append("    if (").append(name).append(" == null)\n")
+                                         .append("        ").append(name).append(" = new ").append(anAttribute.getType()).append("();\n");
+                    if (IMMUTABLE_CLASSREF_TYPES.contains(anAttribute.getType()))
+                        layout.statements.append("    ").append(name).append(" = ").append(name).append(".unmarshal").append(anAttribute.getType())
+                                         .append("(byteBuffer, ").append(index).append("); // immutable, reassigned\n");
+                    else if (SUPPORTING_CLASSREF_TYPES.contains(anAttribute.getType()))
+                        layout.statements.append("    ").append(name).append(".unmarshal(byteBuffer, ").append(index).append(");\n");
+                    else if ((referencedClass != null) && hasUniqueAttributeNames(referencedClass))
+                    {
+                        writeFlatAttributes(layout, referencedClass, getAttributesInWireOrder(referencedClass), name + ".");
+                        continue; // offset already advanced past nested fields
+                    }
+                    else
+                    {
+                        layout.constants.append("  private static final int ").append(offsetName).append(" = ").append(layout.position).append(";\n");
+                        layout.statements.append("    byteBuffer.position(").append(index).append(");\n");
+                        layout.statements.append("    ").append(name).append(".unmarshal(byteBuffer);\n");
+                    }
+                    break;
+                default: // fixed size is never computed for other kinds
                     break;
             }
-        } // End of loop through ivars for writing the unmarshal method
-        
-        pw.println("    }");
-        pw.println("    catch (java.nio.BufferUnderflowException bue)");
-        pw.println("    {");
-        pw.println("        System.err.println(\"*** buffer underflow error while unmarshalling \" + this.getClass().getName());");
-        pw.println("    }");
-        pw.println("    return getMarshalledSize();");
-        pw.println("}\n");
+            layout.position = offsetName + " + " + fixedSize;
+        }
     }
 
     /**
@@ -2340,12 +3549,44 @@ public class JavaGenerator extends AbstractGenerator
         pw.println(" * @return a ByteBuffer with the marshalled {@link Pdu}");
         pw.println(" * @throws Exception ByteBuffer-generated exception");
         pw.println(" */");
-        pw.println("public synchronized java.nio.ByteBuffer marshal() throws Exception");
+        pw.println("public " + synchronizedModifier + "java.nio.ByteBuffer marshal() throws Exception");
         pw.println("{");
-        pw.println("    java.nio.ByteBuffer byteBuffer = java.nio.ByteBuffer.allocate(1500);");
+        pw.println("    java.nio.ByteBuffer byteBuffer = java.nio.ByteBuffer.allocate(getMarshalledSize()); // exact size");
         pw.println("    marshal(byteBuffer);");
         pw.println("    return byteBuffer.rewind();");
         pw.println("}\n");
+
+        pw.println("/**");
+        pw.println(" * Marshal into a caller-provided buffer at its current position, for example a reused send buffer,");
+        pw.println(" * without allocation.  Buffer position is advanced by the number of bytes written.");
+        pw.println(" * @param byteBuffer output buffer with sufficient remaining space");
+        pw.println(" * @return number of bytes written, equal to getMarshalledSize()");
+        pw.println(" * @throws java.nio.BufferOverflowException if remaining space is insufficient, buffer is then unchanged");
+        pw.println(" * @throws Exception ByteBuffer-generated exception");
+        pw.println(" */");
+        pw.println("public " + synchronizedModifier + "int marshalInto(java.nio.ByteBuffer byteBuffer) throws Exception");
+        pw.println("{");
+        pw.println("    int marshalledSize = getMarshalledSize();");
+        pw.println("    if (byteBuffer.remaining() < marshalledSize)");
+        pw.println("        throw new java.nio.BufferOverflowException();");
+        pw.println("    int startPosition = byteBuffer.position();");
+        pw.println("    marshal(byteBuffer);");
+        pw.println("    return byteBuffer.position() - startPosition;");
+        pw.println("}\n");
+
+        pw.println("/**");
+        pw.println(" * Marshal into a direct buffer acquired from a pool, ready to send on a channel without further copying.");
+        pw.println(" * Return the buffer to the pool via {@link DirectBufferPool#release(java.nio.ByteBuffer)} once sent.");
+        pw.println(" * @param bufferPool source of reusable direct buffers");
+        pw.println(" * @return buffer holding marshalled {@link Pdu} from position 0 to limit");
+        pw.println(" * @throws Exception ByteBuffer-generated exception");
+        pw.println(" */");
+        pw.println("public " + synchronizedModifier + "java.nio.ByteBuffer marshal(DirectBufferPool bufferPool) throws Exception");
+        pw.println("{");
+        pw.println("    java.nio.ByteBuffer byteBuffer = bufferPool.acquire(getMarshalledSize());");
+        pw.println("    marshal(byteBuffer);");
+        pw.println("    return byteBuffer.flip();");
+        pw.println("}\n");
     }
   
     /**
@@ -2515,15 +3756,12 @@ public class JavaGenerator extends AbstractGenerator
             pw.println("  * Override of default equals method.  Calls equalsImpl() for content comparison.");
             pw.println("  */");
             pw.println("@Override");
-            pw.println(" public synchronized boolean equals(Object obj)");
+            pw.println(" public boolean equals(Object obj) // unsynchronized, neither locks nor allocates");
             pw.println(" {");
             pw.println("    if(this == obj)");
             pw.println("      return true;");
             pw.println();
-            pw.println("    if(obj == null)");
-            pw.println("       return false;");
-            pw.println();
-            pw.println("    if(!getClass().isAssignableFrom(obj.getClass())) //if(getClass() != obj.getClass())");
+            pw.println("    if(!(obj instanceof " + aClass.getName() + ")) // also false if null");
             pw.println("        return false;");
             pw.println();
             pw.println("    return equalsImpl(obj);");
@@ -2557,7 +3795,7 @@ public class JavaGenerator extends AbstractGenerator
             else {
                 pw.println("@Override");
             }
-            pw.println(" public synchronized boolean equalsImpl(Object obj)");
+            pw.println(" public boolean equalsImpl(Object obj)");
             pw.println(" {");
             /*
             redundant with equals method above
@@ -2587,7 +3825,9 @@ public class JavaGenerator extends AbstractGenerator
               case SISO_BITFIELD:
               case CLASSREF:
               case OBJECT_LIST:
-                pw.println("     if( ! Objects.equals(" + attname + ", rhs." + attname + ") ) return false;");
+                if (isLazyRecord(anAttribute))
+                     pw.println("     if( ! Objects.equals(" + lazyRecordValue(anAttribute, "") + ", " + lazyRecordValue(anAttribute, "rhs.") + ") ) return false;");
+                else pw.println("     if( ! Objects.equals(" + attname + ", rhs." + attname + ") ) return false;");
                 break;
                 
               case PRIMITIVE_LIST:
@@ -2625,7 +3865,7 @@ public class JavaGenerator extends AbstractGenerator
     {
         pw.println();
         pw.println(" @Override");
-        pw.println(" public synchronized String toString()");
+        pw.println(" public " + synchronizedModifier + "String toString()");
         pw.println(" {");
         pw.println("    StringBuilder sb  = new StringBuilder();");
         pw.println("    StringBuilder sb2 = new StringBuilder();");
@@ -2642,6 +3882,10 @@ public class JavaGenerator extends AbstractGenerator
                     case OBJECT_LIST:
                         objlists.add(attr);
                         break;
+                    case PADTO16:
+                    case PADTO32:
+                    case PADTO64:
+                        break; // padding is not stored
                     default:
                         writeOneToString(pw,attr);
                 }
@@ -2699,7 +3943,7 @@ public class JavaGenerator extends AbstractGenerator
         pw.print  ("    sb.append(\" ");
         pw.print  (attr.getName());
         pw.print(":\").append(");
-        pw.print  (attr.getName());
+        pw.print  (isLazyRecord(attr) ? lazyRecordValue(attr, "") : attr.getName());
         pw.println("); // writeOneToString");
         
 //        pw.print("    sb.append(\" ");
@@ -2755,7 +3999,7 @@ public class JavaGenerator extends AbstractGenerator
     	pw.println("");
     	pw.println(" /** Does not initialize iFFPduLayerFormatDatas if systemID.getSystemType contains both transponder and interrogator, you need to choose one.*/");
     	pw.println(" private void checkWhichLayersNeedsUnmarshaling() {");
-    	pw.println("	 byte informationLayers = fundamentalParameters.getInformationLayers();\n");
+    	pw.println("	 byte informationLayers = getFundamentalParameters().getInformationLayers();\n");
     	for (int i = 2; i < 8; i++) {
     		if (i == 2 || i == 5) {
     	    	pw.println("	 if (((informationLayers & 1 << LAYER_DATA_"+ i +"_BIT_INDEX) > 0)) {");
@@ -2764,10 +4008,10 @@ public class JavaGenerator extends AbstractGenerator
     		}
     		else if (i == 3 || i == 4) {
     	    	pw.println("	 if (((informationLayers & 1 << LAYER_DATA_"+ i +"_BIT_INDEX) > 0)) {");
-    	    	pw.println("		 if (systemID.getSystemType().toString().contains(TRANSPONDER)) {");
+    	    	pw.println("		 if (getSystemID().getSystemType().toString().contains(TRANSPONDER)) {");
     	    	pw.println("	 			iFFPduLayer" + i + "TransponderFormatData = new IFFPduLayer" + i + "TransponderFormatData();");
     	    	pw.println("	 	 }");
-    	    	pw.println("	 	 else if (systemID.getSystemType().toString().contains(INTERROGATOR)) {");
+    	    	pw.println("	 	 else if (getSystemID().getSystemType().toString().contains(INTERROGATOR)) {");
     	    	pw.println("	 			iFFPduLayer" + i + "InterrogatorFormatData = new IFFPduLayer" + i + "InterrogatorFormatData();");
     	    	pw.println("	 	 }");
     	    	pw.println("	 }");
@@ -2777,33 +4021,81 @@ public class JavaGenerator extends AbstractGenerator
 
     }
     
-    private void writeHashCodeMethod(PrintWriter pw, GeneratedClass aClass) {
-    	List<GeneratedClassAttribute> classAttributes = aClass.getClassAttributes();
-    	if (classAttributes.isEmpty()) {
-    		// No need for hash code method
-    		return;
-    	}
+    /**
+     * Write hashCode() method consistent with equalsImpl(), combining the same fields in a 31-multiply chain.
+     * Primitives are hashed via static wrapper methods such as Double.hashCode(), so that no varargs array
+     * is allocated and no value is boxed.  Superclass state is included via super.hashCode().
+     * @param pw PrintWriter
+     * @param aClass class of interest
+     */
+    private void writeHashCodeMethod(PrintWriter pw, GeneratedClass aClass)
+    {
         pw.println();
         pw.println(" @Override");
-        pw.println(" public int hashCode()");
+        pw.println(" public int hashCode() // unsynchronized, neither locks nor allocates");
         pw.println(" {");
+        if (aClass.getParentClass().equalsIgnoreCase("root"))
+             pw.println("    int result = 1;");
+        else pw.println("    int result = super.hashCode();");
+
+        for (GeneratedClassAttribute anAttribute : aClass.getClassAttributes())
+        {
+            if (anAttribute.isHidden())
+                continue; // matches equalsImpl()
+            String name = anAttribute.getName();
+            switch (anAttribute.getAttributeKind())
+            {
+                case PRIMITIVE:
+                    pw.println("    result = 31 * result + " + primitiveHashExpression(types.getProperty(anAttribute.getType()), name) + ";");
+                    break;
+
+                case SISO_ENUM:
+                case SISO_BITFIELD:
+                case CLASSREF:
+                case OBJECT_LIST:
+                    if (isLazyRecord(anAttribute))
+                         pw.println("    result = 31 * result + Objects.hashCode(" + lazyRecordValue(anAttribute, "") + ");");
+                    else pw.println("    result = 31 * result + Objects.hashCode(" + name + ");");
+                    break;
+
+                case PRIMITIVE_LIST:
+                    if (anAttribute.getListLength() > 0)
+                    {
+                        pw.println("    for (int idx = 0; idx < " + anAttribute.getListLength() + "; idx++)");
+                        pw.println("        result = 31 * result + " + primitiveHashExpression(types.getProperty(anAttribute.getType()), name + "[idx]") + ";");
+                    }
+                    break;
 
-        for (int attributeIndex = 0; attributeIndex < classAttributes.size() ;attributeIndex++) {
-        	if (classAttributes.size() == 1) {
-        		pw.println("	 return Objects.hash(this." + classAttributes.get(attributeIndex).getName() + ");");
-        	}
-        	else if (attributeIndex == 0) {
-        		pw.println("	 return Objects.hash(this." + classAttributes.get(attributeIndex).getName() + ",");
-        	}
-        	// Last attribute needs to be without comma and with bracket.
-        	else if (attributeIndex == classAttributes.size() - 1) {
-        		pw.println("	                     this." + classAttributes.get(attributeIndex).getName() + ");");
-        	}
-        	else {
-        		pw.println("	                     this." + classAttributes.get(attributeIndex).getName() + ",");
-        	}
+                default:
+                    break;
+            }
+        }
+        pw.println("    return result;");
+        pw.println(" }");
+    }
+
+    /**
+     * Hash expression for a primitive value using static wrapper methods, which avoid boxing
+     * @param javaType primitive Java type, for example double
+     * @param expression value to be hashed
+     * @return Java expression of type int
+     */
+    private String primitiveHashExpression(String javaType, String expression)
+    {
+        if (javaType == null)
+            return "Objects.hashCode(" + expression + ")";
+        switch (javaType)
+        {
+            case "byte":    return "Byte.hashCode("      + expression + ")";
+            case "short":   return "Short.hashCode("     + expression + ")";
+            case "int":     return "Integer.hashCode("   + expression + ")";
+            case "long":    return "Long.hashCode("      + expression + ")";
+            case "float":   return "Float.hashCode("     + expression + ")";
+            case "double":  return "Double.hashCode("    + expression + ")";
+            case "char":    return "Character.hashCode(" + expression + ")";
+            case "boolean": return "Boolean.hashCode("   + expression + ")";
+            default:        return "Objects.hashCode("   + expression + ")";
         }
-        pw.println(" }");    
     }
 
 }
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.entities;
+
+import edu.nps.moves.dis7.pdus.EntityType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity creation by uid through the generated registries of EntityTypeFactory, compared with the
+ * reflection path it replaced: uid2EntityClass.properties map lookup, Class.forName() and constructor invocation.
+ * Uids cycle over every entity whose jar is on the benchmark classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityTypeFactoryBenchmark
+{
+    private int[] uids;
+    private int   index;
+
+    /** uid to class name table, as formerly loaded from uid2EntityClass.properties */
+    private final Map<Integer,String> uid2ClassNameMap = new HashMap<>();
+
+    /** Collect uids of entities on classpath, loading each entity class once */
+    @Setup
+    public void setup()
+    {
+        List<Integer> found = new ArrayList<>();
+        for (int uid = 0; uid <= EntityTypeFactory.MAXIMUM_UID; uid++)
+        {
+            EntityType entityType = EntityTypeFactory.makeEntity(uid);
+            if (entityType != null)
+            {
+                found.add(uid);
+                uid2ClassNameMap.put(uid, entityType.getClass().getName());
+            }
+        }
+        if (found.isEmpty())
+            throw new IllegalStateException("no entity jar on benchmark classpath");
+        uids = found.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int nextUid()
+    {
+        if (++index == uids.length)
+            index = 0;
+        return uids[index];
+    }
+
+    @Benchmark
+    public EntityType makeEntity()
+    {
+        return EntityTypeFactory.makeEntity(nextUid());
+    }
+
+    @Benchmark
+    public EntityType reflection() throws ReflectiveOperationException
+    {
+        String name = uid2ClassNameMap.get(nextUid());
+        return (EntityType) Class.forName(name).getConstructors()[0].newInstance();
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Marshalling and unmarshalling of bitfields held in a primitive long by DisBitField, compared with
+ * DisBitSet, which generated bitfields of 64 bits or fewer formerly extended.  Run with -prof gc to
+ * compare allocation per operation, which is zero for DisBitField and a byte array for each DisBitSet
+ * marshal and unmarshal at buffer position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisBitFieldBenchmark
+{
+    /** bitfield size in bits, SISO bitfields are mostly 8, 16 or 32 bits */
+    @Param({"8", "16", "32"})
+    public int bitLength;
+
+    private DisBitField bitField;
+    private DisBitSet   bitSet;
+    private ByteBuffer  buffer;
+
+    @Setup
+    public void setup()
+    {
+        bitField = new DisBitField(bitLength) {};
+        bitSet   = new DisBitSet(bitLength) {};
+        for (int position = 0; position < bitLength; position += 3)
+        {
+            bitField.set(position);
+            bitSet.set(position);
+        }
+        buffer = ByteBuffer.allocate(Long.BYTES);
+    }
+
+    @Benchmark
+    public ByteBuffer bitFieldMarshal()
+    {
+        buffer.clear();
+        bitField.marshal(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer bitSetMarshal()
+    {
+        buffer.clear();
+        bitSet.marshal(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public DisBitField bitFieldUnmarshal()
+    {
+        buffer.clear();
+        bitField.unmarshal(buffer);
+        return bitField;
+    }
+
+    @Benchmark
+    public DisBitSet bitSetUnmarshal()
+    {
+        buffer.clear();
+        bitSet.unmarshal(buffer);
+        return bitSet;
+    }
+
+    @Benchmark
+    public DisBitField bitFieldUnmarshalAbsolute()
+    {
+        bitField.unmarshal(buffer, 0);
+        return bitField;
+    }
+
+    @Benchmark
+    public DisBitSet bitSetUnmarshalAbsolute()
+    {
+        bitSet.unmarshal(buffer, 0);
+        return bitSet;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import edu.nps.moves.dis7.enumerations.DisPduType;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction of empty PDUs through the generated PduSuppliers table, as performed by PduFactory for each
+ * received PDU, cycling over all PDU types by default.  A single type is measured with, for example,
+ * -Dbenchmarks.args="-p pduType=ENTITY_STATE"; comparing -prof gc allocation rates shows the effect of
+ * cached enumeration constants and records allocated on first use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PduInstantiationBenchmark
+{
+    /** DisPduType name, or ALL to cycle over every PDU type with a PDU class */
+    @Param({"ALL"})
+    public String pduType;
+
+    private int[] pduTypeValues;
+    private int   index;
+
+    @Setup
+    public void setup()
+    {
+        if (pduType.equals("ALL"))
+            pduTypeValues = Arrays.stream(DisPduType.values())
+                                  .mapToInt(DisPduType::getValue)
+                                  .filter(PduSuppliers::isSupported)
+                                  .toArray();
+        else
+            pduTypeValues = new int[] { DisPduType.valueOf(pduType).getValue() };
+        if (pduTypeValues.length == 0 || !PduSuppliers.isSupported(pduTypeValues[0]))
+            throw new IllegalArgumentException("no PDU class for pduType " + pduType);
+    }
+
+    @Benchmark
+    public Pdu create()
+    {
+        if (++index >= pduTypeValues.length)
+            index = 0;
+        return PduSuppliers.create(pduTypeValues[index]);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Multi-threaded receive of EntityStatePdu, each thread decoding into its own PDU, and sharing of a frozen
+ * PDU that every thread marshals and reads.  Run once against PDU classes generated by default, with
+ * synchronized methods, and once against classes generated with -Dxmlpg.threadConfined=true, to compare
+ * uncontended locking on the receive path and contended locking of the shared PDU with lock-free access.
+ * The thread count is changed with, for example, -Dbenchmarks.args="-t 8".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ThreadConfinedBenchmark
+{
+    /** Frozen PDU shared by all benchmark threads */
+    @State(Scope.Benchmark)
+    public static class Shared
+    {
+        EntityStatePdu frozenPdu;
+
+        @Setup
+        public void setup()
+        {
+            frozenPdu = createEntityStatePdu().freeze();
+        }
+    }
+
+    private ByteBuffer     receiveBuffer;
+    private ByteBuffer     sendBuffer;
+    private EntityStatePdu receivedPdu;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        EntityStatePdu pdu = createEntityStatePdu();
+        receiveBuffer = ByteBuffer.allocate(pdu.getMarshalledSize());
+        pdu.marshal(receiveBuffer);
+        sendBuffer  = ByteBuffer.allocate(receiveBuffer.capacity());
+        receivedPdu = new EntityStatePdu();
+    }
+
+    private static EntityStatePdu createEntityStatePdu()
+    {
+        EntityStatePdu pdu = new EntityStatePdu();
+        pdu.setEntityLocation(1000.0, 2000.0, 3000.0);
+        pdu.setEntityOrientation(0.1f, 0.2f, 0.3f);
+        pdu.setMarking("NPS");
+        pdu.getEntityID().setSiteID((short) 1).setApplicationID((short) 2).setEntityID((short) 3);
+        return pdu;
+    }
+
+    /** Sum of fields read by a receiving application */
+    private static double readFields(EntityStatePdu pdu)
+    {
+        return pdu.getEntityLocation().getX() + pdu.getEntityOrientation().getPsi() +
+               pdu.getEntityID().getEntityID() + pdu.getTimestamp();
+    }
+
+    @Benchmark
+    public double receive() throws Exception
+    {
+        receiveBuffer.clear();
+        receivedPdu.unmarshal(receiveBuffer);
+        return readFields(receivedPdu);
+    }
+
+    @Benchmark
+    public EntityStatePdu receiveAndFreeze() throws Exception
+    {
+        receiveBuffer.clear();
+        receivedPdu.unmarshal(receiveBuffer);
+        return receivedPdu.freeze();
+    }
+
+    @Benchmark
+    public ByteBuffer marshalShared(Shared shared) throws Exception
+    {
+        sendBuffer.clear();
+        shared.frozenPdu.marshal(sendBuffer);
+        return sendBuffer;
+    }
+
+    @Benchmark
+    public double readShared(Shared shared)
+    {
+        return readFields(shared.frozenPdu);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.utilities;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DIS absolute timestamp generation by concurrent sender threads, using the lock-free DisTime arithmetic with a
+ * cached top of hour, compared with the static synchronized GregorianCalendar computation that it replaced.
+ * Each variant runs with 1, 4 and all available threads.  JMH reports the total throughput of all threads, which
+ * grows with the thread count up to the number of cores when timestamps scale, and not when threads contend for the class lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisTimeBenchmark
+{
+    /** Former implementation, allocating a calendar to find the top of the hour while holding the class lock */
+    private static synchronized int legacyDisAbsoluteTimestamp()
+    {
+        GregorianCalendar calendar = new GregorianCalendar();
+        long currentTime = System.currentTimeMillis();
+        calendar.setTimeInMillis(currentTime);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long   timeDifferenceMsec = currentTime - calendar.getTimeInMillis();
+        double differenceValue    = (timeDifferenceMsec / (3600.0 * 1000.0)) * Integer.MAX_VALUE;
+        return ((int) differenceValue << 1) | DisTime.ABSOLUTE_TIMESTAMP_MASK;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int disTime1Thread()
+    {
+        return DisTime.getCurrentDisTimestamp();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int disTime4Threads()
+    {
+        return DisTime.getCurrentDisTimestamp();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int disTimeMaxThreads()
+    {
+        return DisTime.getCurrentDisTimestamp();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int legacy1Thread()
+    {
+        return legacyDisAbsoluteTimestamp();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int legacy4Threads()
+    {
+        return legacyDisAbsoluteTimestamp();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int legacyMaxThreads()
+    {
+        return legacyDisAbsoluteTimestamp();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.utilities;
+
+import edu.nps.moves.dis7.pdus.DetonationPdu;
+import edu.nps.moves.dis7.pdus.EntityStatePdu;
+import edu.nps.moves.dis7.pdus.FirePdu;
+import edu.nps.moves.dis7.pdus.Pdu;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of PduFactory.getPdusFromBundle() decoding datagrams that bundle 1 to 60 PDUs, mostly entity state
+ * with fire and detonation PDUs interleaved.  Decoding to a consumer, which unmarshals each PDU from a slice of
+ * the datagram, is compared with the List-returning method taking a byte array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PduBundleBenchmark
+{
+    /** number of PDUs bundled in each datagram */
+    @Param({"1", "10", "30", "60"})
+    public int pduCount;
+
+    private final PduFactory pduFactory = new PduFactory();
+
+    private ByteBuffer datagram;
+    private byte[]     datagramBytes;
+    private Pdu        lastPdu;
+
+    private final Consumer<Pdu> consumer = pdu -> lastPdu = pdu;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        Pdu[] pdus = new Pdu[pduCount];
+        int size = 0;
+        for (int index = 0; index < pduCount; index++)
+        {
+            switch (index % 10)
+            {
+                case 4:  pdus[index] = new FirePdu();       break;
+                case 9:  pdus[index] = new DetonationPdu(); break;
+                default: pdus[index] = new EntityStatePdu().setEntityLocation(index, 2.0 * index, 3.0 * index);
+            }
+            pdus[index].setLength((short) pdus[index].getMarshalledSize());
+            size += pdus[index].getMarshalledSize();
+        }
+        datagram = ByteBuffer.allocate(size);
+        for (Pdu pdu : pdus)
+            pdu.marshal(datagram);
+        datagram.flip();
+        datagramBytes = datagram.array();
+    }
+
+    @Benchmark
+    public Pdu bundleToConsumer()
+    {
+        if (pduFactory.getPdusFromBundle(datagram, consumer) != pduCount)
+            throw new IllegalStateException("bundle not fully decoded");
+        return lastPdu;
+    }
+
+    @Benchmark
+    public List<Pdu> bundleToList()
+    {
+        return pduFactory.getPdusFromBundle(datagramBytes, datagramBytes.length);
+    }
+}
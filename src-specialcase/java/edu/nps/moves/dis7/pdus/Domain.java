@@ -6,100 +6,116 @@ package edu.nps.moves.dis7.pdus;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
-import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
-import java.util.Objects;
-import java.lang.reflect.InvocationTargetException;
 
 import edu.nps.moves.dis7.enumerations.*;
 
 /**
  * Which domain does this PDU belong to:
- * An example approximating a Java enum "superclass". Can't use an interface, because we need the two
- * static methods, which can't go into an interface
+ * An example approximating a Java enum "superclass", wrapping one constant of the enumerations that
+ * implement the generated sealed interface {@link DomainEnumeration}.
+ * <p>
+ * Domain instances are immutable and cached, one per enumeration constant, so that
+ * {@link #inst(PlatformDomain)} and unmarshalling never allocate.  All calls are dispatched
+ * directly to the wrapped enumeration without reflection.  Since instances are shared,
+ * unmarshalling returns the Domain that was read rather than modifying this one.
  * @see AircraftPresentDomain
  * @see AnimalLifeformGroupSizeRangeEnumerationforallDomains
  * @see MunitionDomain
  * @see PlatformDomain
  * @see SupplyDomain
  */
-public class Domain
+public final class Domain
 {
-  private Domain()
+  /** Serialized (marshalled) size in bytes, since every domain enumeration is 8 bits */
+  public static final int MARSHALLED_SIZE = 1;
+
+  private static final Domain[] PLATFORM_DOMAINS = cache(PlatformDomain.values());
+  private static final Domain[] MUNITION_DOMAINS = cache(MunitionDomain.values());
+  private static final Domain[] SUPPLY_DOMAINS   = cache(SupplyDomain.values());
+
+  private final DomainEnumeration enumInst;
+
+  private Domain(DomainEnumeration enumInst)
   {
+    this.enumInst = enumInst;
   }
 
-  private Object enumInst;
-
-  private Method mSize;
-  private Method marshalBuff;
-  private Method marshalDos;
-  private Method unmarshalBuff;
-  private Method unmarshalDis;
-  private Method getValue;
-  private Method getDescription;
+  private static Domain[] cache(DomainEnumeration[] values)
+  {
+    Domain[] domains = new Domain[values.length];
+    for (int index = 0; index < values.length; index++)
+      domains[index] = new Domain(values[index]); // values() order matches ordinal()
+    return domains;
+  }
 
   //@formatter:off
 
     /**
      * Domain of interest
      * @param d a PlatformDomain
-     * @return an Domain instance based on a PlatformDomain enum
+     * @return cached Domain instance based on a PlatformDomain enum
      */
   public static Domain inst(PlatformDomain d)
   {
-    return _inst(d);
+    return PLATFORM_DOMAINS[d.ordinal()];
   }  //  uid 8
 
     /**
      * MunitionDomain instance of interest
      * @param d a MunitionDomain
-     * @return an Domain instance based on a MunitionDomain enum
+     * @return cached Domain instance based on a MunitionDomain enum
      */
     public static Domain inst(MunitionDomain d)
   {
-    return _inst(d);
+    return MUNITION_DOMAINS[d.ordinal()];
   }  //  uid 14
 
     /**
      * SupplyDomain instance of interest
      * @param d a SupplyDomain
-     * @return an Domain instance based on a SupplyDomain enum
+     * @return cached Domain instance based on a SupplyDomain enum
      */
     public static Domain inst(SupplyDomain d)
   {
-    return _inst(d);
+    return SUPPLY_DOMAINS[d.ordinal()];
   }  //  uid 600
 
+    /**
+     * Domain instance of interest for any domain enumeration
+     * @param d a PlatformDomain, MunitionDomain or SupplyDomain
+     * @return cached Domain instance based on that enum
+     */
+    public static Domain inst(DomainEnumeration d)
+  {
+    if (d instanceof PlatformDomain)
+      return inst((PlatformDomain) d);
+    if (d instanceof MunitionDomain)
+      return inst((MunitionDomain) d);
+    return inst((SupplyDomain) d); // sealed interface, no other implementations
+  }
+
   //@formatter:on
-  private static Domain _inst(Object o)
+
+    /**
+     * Cached Domain for an enumeration just unmarshalled, which is null when the value read is not defined
+     * and unrecognized enumerations are strict; the enumeration has then already reported and counted the value.
+     * @param d a PlatformDomain, MunitionDomain or SupplyDomain, or null
+     * @return cached Domain instance, or null if d is null
+     * @see UnrecognizedEnumerations
+     */
+    private static Domain instOrNull(DomainEnumeration d)
   {
-    Domain d = new Domain();
-    d.enumInst = o;
-    d.init();
-    return d;
+    return (d == null) ? null : inst(d);
   }
 
-  private synchronized void init()
+    /**
+     * Get enumeration wrapped by this Domain
+     * @return PlatformDomain, MunitionDomain or SupplyDomain constant
+     */
+    public DomainEnumeration getEnumeration()
   {
-    Class<?> c = enumInst.getClass();
-    try {
-      //@formatter:off
-      marshalBuff = c.getDeclaredMethod("marshal", new Class[]{ByteBuffer.class});
-      marshalDos = c.getDeclaredMethod("marshal", new Class[]{DataOutputStream.class});
-      unmarshalBuff = c.getDeclaredMethod("unmarshalEnum", new Class[]{ByteBuffer.class});
-      unmarshalDis = c.getDeclaredMethod("unmarshalEnum", new Class[]{DataInputStream.class});
-      mSize = c.getDeclaredMethod("getMarshalledSize", (Class[]) null);
-      getValue = c.getDeclaredMethod("getValue", (Class[]) null);
-      getDescription = c.getDeclaredMethod("getDescription", (Class[]) null);
-      //@formatter:on
-    }
-    catch (NoSuchMethodException ex)
-    {
-        System.out.flush(); // ensure contiguous console outputs
-        System.err.println("Can't find methods in " + c.getSimpleName());
-        System.err.flush(); // ensure contiguous console outputs
-    }
+    return enumInst;
   }
 
     /**
@@ -108,7 +124,7 @@ public class Domain
      */
     public int getValue()
   {
-    return (Integer) invoke(getValue, null);
+    return enumInst.getValue();
   }
 
     /**
@@ -117,7 +133,7 @@ public class Domain
      */
     public String getDescription()
   {
-    return (String) invoke(getDescription, null);
+    return enumInst.getDescription();
   }
 
   /**
@@ -125,66 +141,131 @@ public class Domain
    * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
    * @return serialized size in bytes
    */
-    public synchronized int getMarshalledSize()
+    public int getMarshalledSize()
     {
-      return (Integer) invoke(mSize, null);
+      return enumInst.getMarshalledSize();
     }
 
     /**
      * Marshall this instance to DataOutputStreem
      * @param dos DataOutputStream
      */
-    public synchronized void marshal(DataOutputStream dos)
+    public void marshal(DataOutputStream dos)
   {
-    invoke(marshalDos, new Object[]{dos});
+    try {
+      enumInst.marshal(dos);
+    }
+    catch (Exception ex) {
+      throw new RuntimeException("bad marshal", ex);
+    }
   }
 
     /**
      * Marshall this instance to byteBuffer
      * @param byteBuffer The ByteBuffer at the position to begin writing
      */
-    public synchronized void marshal(ByteBuffer byteBuffer)
+    public void marshal(ByteBuffer byteBuffer)
   {
-    invoke(marshalBuff, new Object[]{byteBuffer});
+    try {
+      enumInst.marshal(byteBuffer);
+    }
+    catch (Exception ex) {
+      throw new RuntimeException("bad marshal", ex);
+    }
   }
 
     /**
-     * Deserializes an object from a DataInputStream.
+     * Deserializes a Domain from a DataInputStream, using the same enumeration type as this Domain.
      * @param dis DataInputStream
      * @see java.io.DataInputStream
      * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
-     * @return marshalled serialized size in bytes
+     * @return cached Domain instance for the value read, this instance is unchanged, or null if the value read
+     * is not defined and unrecognized enumerations are strict
+     * @see UnrecognizedEnumerations
      */
-    public synchronized int unmarshal(DataInputStream dis)
+    public Domain unmarshalDomain(DataInputStream dis)
   {
-    Object o = invoke(unmarshalDis, new Object[]{dis});
-    enumInst = o;
-    init();
-    return getMarshalledSize();
+    try {
+      if (enumInst instanceof PlatformDomain)
+        return instOrNull(PlatformDomain.unmarshalEnum(dis));
+      if (enumInst instanceof MunitionDomain)
+        return instOrNull(MunitionDomain.unmarshalEnum(dis));
+      return instOrNull(SupplyDomain.unmarshalEnum(dis));
+    }
+    catch (Exception ex) {
+      throw new RuntimeException("bad unmarshalEnum", ex);
+    }
   }
 
     /**
-     * Deserializes an object from a ByteBuffer.
+     * Deserializes a Domain from a ByteBuffer, using the same enumeration type as this Domain.
      * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
-     * @param byteBuffer The ByteBuffer at the position to begin writing
+     * @param byteBuffer The ByteBuffer at the position to begin reading
+     * @return cached Domain instance for the value read, this instance is unchanged, or null if the value read
+     * is not defined and unrecognized enumerations are strict
+     * @see UnrecognizedEnumerations
+     */
+    public Domain unmarshalDomain(ByteBuffer byteBuffer)
+  {
+    try {
+      if (enumInst instanceof PlatformDomain)
+        return instOrNull(PlatformDomain.unmarshalEnum(byteBuffer));
+      if (enumInst instanceof MunitionDomain)
+        return instOrNull(MunitionDomain.unmarshalEnum(byteBuffer));
+      return instOrNull(SupplyDomain.unmarshalEnum(byteBuffer));
+    }
+    catch (RuntimeException ex) {
+      throw ex; // BufferUnderflowException reaches the caller as from other unmarshal(ByteBuffer) methods
+    }
+    catch (Exception ex) {
+      throw new RuntimeException("bad unmarshalEnum", ex);
+    }
+  }
+
+    /**
+     * Deserializes a Domain from a ByteBuffer at an absolute index, using the same enumeration type as this Domain.
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @param byteBuffer The ByteBuffer holding the data, position is unchanged
+     * @param index absolute index to begin reading
+     * @return cached Domain instance for the value read, this instance is unchanged, or null if the value read
+     * is not defined and unrecognized enumerations are strict
+     * @see UnrecognizedEnumerations
+     */
+    public Domain unmarshalDomain(ByteBuffer byteBuffer, int index)
+  {
+    if (enumInst instanceof PlatformDomain)
+      return instOrNull(PlatformDomain.unmarshalEnum(byteBuffer, index));
+    if (enumInst instanceof MunitionDomain)
+      return instOrNull(MunitionDomain.unmarshalEnum(byteBuffer, index));
+    return instOrNull(SupplyDomain.unmarshalEnum(byteBuffer, index));
+  }
+
+    /**
+     * Deserializes a Domain from a DataInputStream.  Since Domain instances are immutable and shared,
+     * this instance is unchanged and the Domain read is discarded.
+     * @param dis DataInputStream
      * @return marshalled serialized size in bytes
+     * @deprecated Domain is immutable, use {@link #unmarshalDomain(DataInputStream)} and keep the Domain returned
      */
-    public synchronized int unmarshal(ByteBuffer byteBuffer)
+    @Deprecated
+    public int unmarshal(DataInputStream dis)
   {
-    Object o = invoke(unmarshalBuff, new Object[]{byteBuffer});
-    enumInst = o;
-    init();
-    return getMarshalledSize();
+    unmarshalDomain(dis);
+    return MARSHALLED_SIZE;
   }
 
-  private Object invoke(Method m, Object[] oa)
+    /**
+     * Deserializes a Domain from a ByteBuffer.  Since Domain instances are immutable and shared,
+     * this instance is unchanged and the Domain read is discarded.
+     * @param byteBuffer The ByteBuffer at the position to begin reading
+     * @return marshalled serialized size in bytes
+     * @deprecated Domain is immutable, use {@link #unmarshalDomain(ByteBuffer)} and keep the Domain returned
+     */
+    @Deprecated
+    public int unmarshal(ByteBuffer byteBuffer)
   {
-    try {
-      return m.invoke(enumInst, oa);
-    }
-    catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-      throw new RuntimeException("bad " + m.getName());
-    }
+    unmarshalDomain(byteBuffer);
+    return MARSHALLED_SIZE;
   }
 
   @Override
@@ -197,7 +278,7 @@ public class Domain
    * Override of default equals method.  Calls equalsImpl() for content comparison.
    */
   @Override
-  public synchronized boolean equals(Object obj)
+  public boolean equals(Object obj)
   {
     if (this == obj)
       return true;
@@ -218,15 +299,15 @@ public class Domain
    * @param obj the object to compare to
    * @return true if the objects are equal, false otherwise.
    */
-  public synchronized boolean equalsImpl(Object obj)
+  public boolean equalsImpl(Object obj)
   {
     final Domain rhs = (Domain) obj;
-    return enumInst.equals(rhs.enumInst);
+    return enumInst == rhs.enumInst;
   }
-  
+
   @Override
   public int hashCode()
   {
- 	 return Objects.hash(this.enumInst);
+    return enumInst.hashCode();
   }
 }
@@ -32,7 +32,7 @@ public class IntercomSignalPduSpecialCase extends RadioCommunicationsFamilyPdu i
   /**
    * tactical data link type uid 178
    */
-  protected SignalTDLType tdlType = SignalTDLType.values()[0];
+  protected SignalTDLType tdlType = SignalTDLType.getFirstValue();
 
   /**
    * sample rate
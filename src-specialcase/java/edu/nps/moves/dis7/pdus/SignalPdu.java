@@ -5,6 +5,8 @@
 package edu.nps.moves.dis7.pdus;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 import edu.nps.moves.dis7.enumerations.*;
 
 /**
@@ -27,7 +29,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
   /**
    * tdl type uid 178
    */
-  protected SignalTDLType tdlType = SignalTDLType.values()[0];
+  protected SignalTDLType tdlType = SignalTDLType.getFirstValue();
 
   /**
    * sample rate
@@ -49,8 +51,17 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   protected byte[] data = new byte[1];  // Wireshark complains if no data
 
-  /** bit padding */
-  private byte[] padTo32 = new byte[0]; // pad to 32-bit boundary
+  /**
+   * Read-only payload view used instead of {@link SignalPdu#data} when set, for example a slice of the receive buffer
+   * or an application audio buffer, so that payload bytes are neither copied on receipt nor before sending
+   */
+  protected transient ByteBuffer dataBuffer;
+
+  /** Default for new instances, whether unmarshal(ByteBuffer) shares rather than copies payload */
+  private static volatile boolean defaultDataZeroCopy = false;
+
+  /** Whether unmarshal(ByteBuffer) exposes payload as a read-only slice of the receive buffer rather than copying it */
+  private boolean dataZeroCopy = defaultDataZeroCopy;
 
   /**
    * Constructor
@@ -60,6 +71,82 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
     setPduType(DisPduType.SIGNAL);
   }
 
+  /**
+   * Copy constructor creates a deep copy of another instance, field by field
+   * @param source object to copy
+   */
+  public SignalPdu(SignalPdu source)
+  {
+    super(source);
+    header = (source.header == null) ? null : new RadioCommsHeader(source.header);
+    encodingScheme = source.encodingScheme;
+    tdlType = source.tdlType;
+    sampleRate = source.sampleRate;
+    dataLength = source.dataLength;
+    samples = source.samples;
+    data = source.getDataCopy();
+    dataZeroCopy = source.dataZeroCopy;
+  }
+
+  /**
+   * copy method creates a deep copy of current object, field by field
+   * @return deep copy of PDU
+   */
+  public synchronized SignalPdu copy()
+  {
+    return new SignalPdu(this);
+  }
+
+  /**
+   * Creates an immutable deep copy of current object, which may be shared across threads without locking.
+   * The frozen copy is published to other threads by a thread-safe handoff, for example a concurrent queue.
+   * Its setters, unmarshal methods and reset() throw UnsupportedOperationException, and copy() provides a mutable copy.
+   * @return frozen copy of this object, or this object if already frozen
+   */
+  public synchronized SignalPdu freeze()
+  {
+    if (frozen)
+      return this;
+    SignalPdu frozenCopy = new SignalPdu(this);
+    frozenCopy.freezeContents();
+    return frozenCopy;
+  }
+
+  /**
+   * Marks this newly copied object and its nested records as frozen.  Payload is held as an array by the copy,
+   * and the data length written by marshal methods is fixed now, so that marshalling never modifies a frozen object.
+   */
+  @Override
+  protected void freezeContents()
+  {
+    super.freezeContents();
+    header.freezeContents();
+    if (dataLength == null)
+      dataLength = calculateDataLength();
+  }
+
+  /**
+   * Resets this object to the values of a newly constructed instance, for reuse without reallocation
+   * @return same object to permit progressive setters
+   */
+  @Override
+  public synchronized SignalPdu reset()
+  {
+    super.reset();
+    header.reset();
+    encodingScheme = 0;
+    tdlType = SignalTDLType.getFirstValue();
+    sampleRate = 0;
+    dataLength = null;
+    samples = 0;
+    if (data.length == 1)
+         data[0] = 0;
+    else data = new byte[1];
+    dataBuffer = null;
+    setPduType(DisPduType.SIGNAL);
+    return this;
+  }
+
   /**
    * Returns size of this serialized (marshalled) object in bytes
    * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
@@ -67,6 +154,16 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   @Override
   public synchronized int getMarshalledSize()
+  {
+    int marshalSize = getUnpaddedSize();
+    return marshalSize + Align.paddingTo32bits(marshalSize); // padTo32
+  }
+
+  /**
+   * Size of all fields preceding padding, padding length is then derived by position arithmetic rather than stored
+   * @return serialized size in bytes without padding
+   */
+  private int getUnpaddedSize()
   {
     int marshalSize = super.getMarshalledSize();
     marshalSize += header.getMarshalledSize();
@@ -75,8 +172,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
     marshalSize += 4;  // sampleRate
     marshalSize += 2;  // dataLength
     marshalSize += 2;  // samples
-    marshalSize += data.length;
-    marshalSize += padTo32.length;
+    marshalSize += getDataByteLength();
 
     return marshalSize;
   }
@@ -88,6 +184,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public SignalPdu setHeader(RadioCommsHeader pHeader)
   {
+    checkNotFrozen();
     header = pHeader;
     return this;
   }
@@ -108,6 +205,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public SignalPdu setEncodingScheme(short pEncodingScheme)
   {
+    checkNotFrozen();
     encodingScheme = pEncodingScheme;
     return this;
   }
@@ -129,6 +227,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public SignalPdu setTdlType(SignalTDLType pTdlType)
   {
+    checkNotFrozen();
     tdlType = pTdlType;
     return this;
   }
@@ -150,6 +249,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public SignalPdu setSampleRate(int pSampleRate)
   {
+    checkNotFrozen();
     sampleRate = pSampleRate;
     return this;
   }
@@ -176,6 +276,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public synchronized SignalPdu setDataLength(short pDataLength)
   {
+    checkNotFrozen();
     dataLength = pDataLength;
     return this;
   }
@@ -198,6 +299,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public synchronized SignalPdu setSamples(short pSamples)
   {
+    checkNotFrozen();
     samples = pSamples;
     return this;
   }
@@ -225,20 +327,123 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
    */
   public synchronized SignalPdu setData(byte[] pData)
   {
+    checkNotFrozen();
     data = pData;
+    dataBuffer = null;
     return this;
   }
 
   /**
-   * Getter for {@link SignalPdu#data}
+   * Getter for {@link SignalPdu#data}.  If payload is held as a ByteBuffer, it is copied once into a new
+   * byte array which then replaces the buffer, detaching this PDU from any shared receive buffer.
    *
    * @return value of field
+   * @see #getDataBuffer()
    */
-  public byte[] getData()
+  public synchronized byte[] getData()
   {
+    if (frozen)
+      return data.clone();
+    if (dataBuffer != null)
+    {
+      data = getDataCopy();
+      dataBuffer = null;
+    }
     return data;
   }
 
+  /**
+   * Setter for payload without copying, written directly when marshalling.  The bytes between position and limit
+   * of pDataBuffer are used; the caller must not modify them until this PDU has been marshalled.
+   * As with {@link #setData(byte[])}, {@link SignalPdu#dataLength} defaults to payload size times 8 if not set.
+   *
+   * @param pDataBuffer payload of interest, null clears payload
+   * @return same object to permit progressive setters
+   */
+  public synchronized SignalPdu setData(ByteBuffer pDataBuffer)
+  {
+    checkNotFrozen();
+    if (pDataBuffer == null)
+    {
+      dataBuffer = null;
+      data = new byte[0];
+    }
+    else dataBuffer = pDataBuffer.asReadOnlyBuffer().slice();
+    return this;
+  }
+
+  /**
+   * Getter for payload as a read-only view without copying, with position 0 and limit equal to payload size.
+   * After a zero-copy unmarshal, the view shares the receive buffer and is only valid until that buffer is reused.
+   *
+   * @return read-only payload view
+   * @see #setDataZeroCopy(boolean)
+   */
+  public synchronized ByteBuffer getDataBuffer()
+  {
+    return (dataBuffer != null) ? dataBuffer.asReadOnlyBuffer() : ByteBuffer.wrap(data).asReadOnlyBuffer();
+  }
+
+  /**
+   * Copy of payload bytes, leaving this PDU unchanged
+   *
+   * @return new byte array holding payload
+   */
+  public synchronized byte[] getDataCopy()
+  {
+    if (dataBuffer == null)
+      return data.clone();
+    byte[] copy = new byte[dataBuffer.remaining()];
+    dataBuffer.get(dataBuffer.position(), copy);
+    return copy;
+  }
+
+  /**
+   * Payload size in bytes, whether held as array or buffer
+   *
+   * @return number of payload bytes
+   */
+  public synchronized int getDataByteLength()
+  {
+    return (dataBuffer != null) ? dataBuffer.remaining() : data.length;
+  }
+
+  /**
+   * Choose whether unmarshal(ByteBuffer) exposes payload as a read-only slice of the receive buffer instead of copying it.
+   * Zero-copy payloads remain valid only while the receive buffer is unchanged; call {@link #getData()} to copy
+   * a payload that must outlive the buffer.
+   *
+   * @param newDataZeroCopy true to share receive buffer, false (default) to copy
+   * @return same object to permit progressive setters
+   */
+  public synchronized SignalPdu setDataZeroCopy(boolean newDataZeroCopy)
+  {
+    checkNotFrozen();
+    dataZeroCopy = newDataZeroCopy;
+    return this;
+  }
+
+  /**
+   * Whether unmarshal(ByteBuffer) shares rather than copies payload
+   *
+   * @return true if zero copy
+   */
+  public synchronized boolean isDataZeroCopy()
+  {
+    return dataZeroCopy;
+  }
+
+  /**
+   * Set zero-copy choice for subsequently created instances, for example those created by PduFactory from received packets
+   *
+   * @param newDefaultDataZeroCopy true to share receive buffers by default
+   * @see #setDataZeroCopy(boolean)
+   */
+  public static void setDefaultDataZeroCopy(boolean newDefaultDataZeroCopy)
+  {
+    defaultDataZeroCopy = newDefaultDataZeroCopy;
+  }
+
   /* *************************** */
   /* Marshal / unmarshal methods */
   /* *************************** */
@@ -265,10 +470,11 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
       dos.writeShort((dataLength = calculateDataLength()));
 
     dos.writeShort(samples);
-    for (int idx = 0; idx < data.length; idx++) {
-      dos.writeByte(data[idx]);
-    }
-    padTo32 = new byte[Align.to32bits(dos)];
+    if (dataBuffer == null)
+      dos.write(data);
+    else for (int idx = dataBuffer.position(); idx < dataBuffer.limit(); idx++)
+      dos.writeByte(dataBuffer.get(idx));
+    Align.writePadding(dos, Align.paddingTo32bits(getUnpaddedSize()));
 
   }
 
@@ -299,12 +505,10 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
     samples = (short) dis.readUnsignedShort();
     uPosition += 2;
     
-    for (int idx = 0; idx < byteLength; idx++) {
-      data[idx] = dis.readByte();
-    }
-    uPosition += (data.length * 1);
-    padTo32 = new byte[Align.from32bits(uPosition, dis)];
-    //uPosition += padTo32.length;
+    dis.readFully(data);
+    dataBuffer = null;
+    uPosition += data.length;
+    Align.skipPadding(dis, Align.paddingTo32bits(getUnpaddedSize()));
 
     return getMarshalledSize();
   }
@@ -334,11 +538,15 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
     
     byteBuffer.putShort(samples);
 
-    for (int idx = 0; idx < data.length; idx++) {
-      byteBuffer.put(data[idx]);
+    if (dataBuffer == null)
+      byteBuffer.put(data);
+    else
+    {
+      int length = dataBuffer.remaining();
+      byteBuffer.put(byteBuffer.position(), dataBuffer, dataBuffer.position(), length); // absolute bulk copy, no view allocation
+      byteBuffer.position(byteBuffer.position() + length);
     }
-    byteBuffer.flip(); // will cause BufferOverflowException if we don't flip here
-    padTo32 = new byte[Align.to32bits(byteBuffer)];
+    Align.writePadding(byteBuffer, Align.paddingTo32bits(getUnpaddedSize()));
   }
 
   /**
@@ -362,26 +570,32 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
     sampleRate = byteBuffer.getInt();
     dataLength = (short) (byteBuffer.getShort() & 0xFFFF);
     int byteLength = (dataLength+7)/8;
-    data = new byte[byteLength];
     samples = (short) (byteBuffer.getShort() & 0xFFFF);
-    for (int idx = 0; idx < byteLength; idx++) {
-      data[idx] = byteBuffer.get();
+    if (dataZeroCopy)
+    {
+      dataBuffer = byteBuffer.asReadOnlyBuffer().slice(byteBuffer.position(), byteLength);
+      byteBuffer.position(byteBuffer.position() + byteLength);
+    }
+    else
+    {
+      data = new byte[byteLength];
+      byteBuffer.get(data);
+      dataBuffer = null;
     }
-    byteBuffer.flip(); // will cause BufferUnderflowException if we don't flip here
-    padTo32 = new byte[Align.from32bits(byteBuffer)];
+    Align.skipPadding(byteBuffer, Align.paddingTo32bits(getUnpaddedSize()));
     return getMarshalledSize();
   }
 
   private short calculateDataLength()
   {
-    return (short) (data.length * 8);
+    return (short) (getDataByteLength() * 8);
   }
 
   /*
   * The equals method doesn't always work--mostly it works only on classes that consist only of primitives. Be careful.
    */
   @Override
-  public synchronized boolean equals(Object obj)
+  public boolean equals(Object obj)
   {
     if (this == obj)
       return true;
@@ -396,7 +610,7 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
   }
 
   @Override
-  public synchronized boolean equalsImpl(Object obj)
+  public boolean equalsImpl(Object obj)
   {
     boolean ivarsEqual = true;
 
@@ -425,4 +639,31 @@ public class SignalPdu extends RadioCommunicationsFamilyPdu implements Serializa
 
     return ivarsEqual && super.equalsImpl(rhs);
   }
+
+  /**
+   * Hash consistent with equalsImpl(), neither locks nor allocates
+   * @return hash code
+   */
+  @Override
+  public int hashCode()
+  {
+    int result = super.hashCode();
+    result = 31 * result + Objects.hashCode(header);
+    result = 31 * result + Short.hashCode(encodingScheme);
+    result = 31 * result + Objects.hashCode(tdlType);
+    result = 31 * result + Integer.hashCode(sampleRate);
+    result = 31 * result + Objects.hashCode(dataLength);
+    result = 31 * result + Short.hashCode(samples);
+    return result;
+  }
+
+  /**
+   * Dispatch this instance to the matching visit method of a visitor
+   * @param visitor visitor to call
+   */
+  @Override
+  public void accept(PduVisitor visitor)
+  {
+    visitor.visit(this);
+  }
 } // end of class
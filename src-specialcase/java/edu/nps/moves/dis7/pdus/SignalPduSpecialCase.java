@@ -27,7 +27,7 @@ public class SignalPduSpecialCase extends RadioCommunicationsFamilyPdu implement
   /**
    * tdl type uid 178
    */
-  protected SignalTDLType tdlType = SignalTDLType.values()[0];
+  protected SignalTDLType tdlType = SignalTDLType.getFirstValue();
 
   /**
    * sample rate
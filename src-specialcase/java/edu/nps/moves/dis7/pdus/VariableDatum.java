@@ -36,18 +36,93 @@ public class VariableDatum extends Object implements Serializable {
     protected byte[] variableDatumValue; // see constructor
 
     /**
-     * bit padding to 64-bit boundary
+     * Whether this object is an immutable copy produced by freeze()
      */
-    private byte[] padding; // see constructor
+    protected boolean frozen;
 
     /**
      * Constructor
      */
     public VariableDatum() {
         // initializations
-        variableDatumID = VariableRecordType.values()[0];
+        variableDatumID = VariableRecordType.getFirstValue();
         variableDatumValue = new byte[0];
-        padding = new byte[0]; // pad to 64-bit boundary
+    }
+
+    /**
+     * Copy constructor creates a deep copy of another instance, field by field
+     *
+     * @param source object to copy
+     */
+    public VariableDatum(VariableDatum source) {
+        variableDatumID = source.variableDatumID;
+        variableDatumLength = source.variableDatumLength;
+        variableDatumValue = source.variableDatumValue.clone();
+    }
+
+    /**
+     * Creates an immutable deep copy of current object, which may be shared
+     * across threads without locking. The frozen copy is published to other
+     * threads by a thread-safe handoff, for example a concurrent queue. Its
+     * setters, unmarshal methods and reset() throw
+     * UnsupportedOperationException.
+     *
+     * @return frozen copy of this object, or this object if already frozen
+     */
+    public synchronized VariableDatum freeze() {
+        if (frozen) {
+            return this;
+        }
+        VariableDatum frozenCopy = new VariableDatum(this);
+        frozenCopy.freezeContents();
+        return frozenCopy;
+    }
+
+    /**
+     * Marks this newly copied object as frozen, fixing the datum length
+     * written by marshal methods so that marshalling never modifies it
+     */
+    protected void freezeContents() {
+        frozen = true;
+        if (variableDatumLength == null) {
+            variableDatumLength = calculateDatumLength();
+        }
+    }
+
+    /**
+     * Whether this object is an immutable copy produced by freeze()
+     *
+     * @return true if setters, unmarshal methods and reset() throw
+     * UnsupportedOperationException
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Invoked before modifying this object
+     *
+     * @throws UnsupportedOperationException if this object is frozen
+     */
+    protected final void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " is frozen, modify a copy instead");
+        }
+    }
+
+    /**
+     * Resets this object to the values of a newly constructed instance, for reuse without reallocation
+     *
+     * @return same object to permit progressive setters
+     */
+    public synchronized VariableDatum reset() {
+        checkNotFrozen();
+        variableDatumID = VariableRecordType.getFirstValue();
+        variableDatumLength = null;
+        if (variableDatumValue.length != 0) {
+            variableDatumValue = new byte[0];
+        }
+        return this;
     }
 
     /**
@@ -63,11 +138,21 @@ public class VariableDatum extends Object implements Serializable {
         marshalSize += variableDatumID.getMarshalledSize();
         marshalSize += 4;  // variableDatumLength
         marshalSize += variableDatumValue.length;
-        marshalSize += padding.length;
+        marshalSize += getPaddingLength();
 
         return marshalSize;
     }
 
+    /**
+     * Number of zero bytes padding this record to a 64-bit boundary, derived from value length
+     * rather than stored, since the record itself begins on a 64-bit boundary
+     *
+     * @return padding size in bytes
+     */
+    public int getPaddingLength() {
+        return Align.paddingTo64bits(variableDatumValue.length); // id and length fields total 8 bytes
+    }
+
     /**
      * Setter for {@link VariableDatum#variableDatumID}
      *
@@ -75,6 +160,7 @@ public class VariableDatum extends Object implements Serializable {
      * @return same object to permit progressive setters
      */
     public synchronized VariableDatum setVariableDatumID(VariableRecordType pVariableDatumID) {
+        checkNotFrozen();
         variableDatumID = pVariableDatumID;
         return this;
     }
@@ -102,6 +188,7 @@ public class VariableDatum extends Object implements Serializable {
      * @return same object to permit progressive setters
      */
     public synchronized VariableDatum setVariableDatumLengthInBits(int bitLength) {
+        checkNotFrozen();
         variableDatumLength = bitLength;
         return this;
     }
@@ -120,6 +207,7 @@ public class VariableDatum extends Object implements Serializable {
      * @return same object to permit progressive setters
      */
     public synchronized VariableDatum setVariableDatumLengthInBytes(int byteLength) {
+        checkNotFrozen();
         variableDatumLength = byteLength * Byte.SIZE;
         return this;
     }
@@ -147,6 +235,7 @@ public class VariableDatum extends Object implements Serializable {
      * @return same object to permit progressive setters
      */
     public synchronized VariableDatum setVariableDatumValue(byte[] pVariableDatumValue) {
+        checkNotFrozen();
         variableDatumValue = pVariableDatumValue;
         return this;
     }
@@ -154,10 +243,10 @@ public class VariableDatum extends Object implements Serializable {
     /**
      * Getter for {@link VariableDatum#variableDatumValue}
      *
-     * @return value of interest
+     * @return value of interest, a copy if this object is frozen
      */
     public byte[] getVariableDatumValue() {
-        return variableDatumValue;
+        return frozen ? variableDatumValue.clone() : variableDatumValue;
     }
 
     /* *************************** */
@@ -184,7 +273,7 @@ public class VariableDatum extends Object implements Serializable {
                 dos.writeByte(variableDatumValue[idx]);
             }
 
-            padding = new byte[Align.to64bits(dos)];
+            Align.writePadding(dos, getPaddingLength());
         } catch (IOException e) {
             System.err.flush(); // ensure contiguous console outputs
             System.err.println(e);
@@ -203,6 +292,7 @@ public class VariableDatum extends Object implements Serializable {
      * @throws java.lang.Exception if something goes wrong
      */
     public synchronized int unmarshal(DataInputStream dis) throws Exception {
+        checkNotFrozen();
         int uPosition = 0;
         try {
             variableDatumID = VariableRecordType.unmarshalEnum(dis);
@@ -214,9 +304,8 @@ public class VariableDatum extends Object implements Serializable {
             for (int idx = 0; idx < byteLength; idx++) {
                 variableDatumValue[idx] = dis.readByte();
             }
-            uPosition += variableDatumLength;
-            padding = new byte[Align.from64bits(uPosition, dis)];
-            //uPosition += padding.length;
+            uPosition += byteLength;
+            Align.skipPadding(dis, getPaddingLength());
         } catch (Exception e) {
             System.err.flush(); // ensure contiguous console outputs
             System.err.println(e);
@@ -245,7 +334,7 @@ public class VariableDatum extends Object implements Serializable {
         for (int idx = 0; idx < variableDatumValue.length; idx++) {
             byteBuffer.put(variableDatumValue[idx]);
         }
-        padding = new byte[Align.to64bits(byteBuffer)];
+        Align.writePadding(byteBuffer, getPaddingLength());
     }
 
     /**
@@ -260,6 +349,7 @@ public class VariableDatum extends Object implements Serializable {
      * @throws Exception ByteBuffer-generated exception
      */
     public synchronized int unmarshal(java.nio.ByteBuffer byteBuffer) throws Exception {
+        checkNotFrozen();
         variableDatumID = VariableRecordType.unmarshalEnum(byteBuffer);
         variableDatumLength = byteBuffer.getInt();
         int byteLength = (variableDatumLength + 7) / 8;
@@ -267,7 +357,7 @@ public class VariableDatum extends Object implements Serializable {
         for (int idx = 0; idx < byteLength; idx++) {
             variableDatumValue[idx] = byteBuffer.get();
         }
-        padding = new byte[Align.from64bits(byteBuffer)];
+        Align.skipPadding(byteBuffer, getPaddingLength());
         return getMarshalledSize();
     }
 
@@ -279,7 +369,7 @@ public class VariableDatum extends Object implements Serializable {
      * The equals method doesn't always work--mostly it works only on classes that consist only of primitives. Be careful.
      */
     @Override
-    public synchronized boolean equals(Object obj) {
+    public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
@@ -301,7 +391,6 @@ public class VariableDatum extends Object implements Serializable {
         hash = 89 * hash + Objects.hashCode(this.variableDatumID);
         hash = 89 * hash + Objects.hashCode(this.variableDatumLength);
         hash = 89 * hash + Arrays.hashCode(this.variableDatumValue);
-        hash = 89 * hash + Arrays.hashCode(this.padding);
         return hash;
     }
 
@@ -312,7 +401,7 @@ public class VariableDatum extends Object implements Serializable {
      * @param obj the object to compare to
      * @return true if the objects are equal, false otherwise.
      */
-    public synchronized boolean equalsImpl(Object obj) {
+    public boolean equalsImpl(Object obj) {
         boolean ivarsEqual = true;
 
         if (!(obj instanceof VariableDatum)) {
@@ -344,7 +433,7 @@ public class VariableDatum extends Object implements Serializable {
         sb.append(" variableDatumLength: ").append(variableDatumLength).append("\n");
         sb.append(" variableDatumValue: ").append("\n");
         sb.append(Arrays.toString(variableDatumValue)).append("\n");
-        sb.append(" padding: ").append(padding).append("\n");
+        sb.append(" padding: ").append(getPaddingLength()).append("\n");
 
         return sb.toString();
     }
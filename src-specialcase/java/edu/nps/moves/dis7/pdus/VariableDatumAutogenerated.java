@@ -19,7 +19,7 @@ import edu.nps.moves.dis7.enumerations.*;
 public class VariableDatumAutogenerated extends Object implements Serializable
 {
    /** Type of variable datum to be transmitted. 32-bit enumeration defined in EBV uid 66 */
-   protected VariableRecordType variableDatumID = VariableRecordType.values()[0];
+   protected VariableRecordType variableDatumID = VariableRecordType.getFirstValue();
 
    /** Length, IN BITS, of the variable datum. */
    protected int  variableDatumLength;
@@ -180,7 +180,7 @@ public void marshal(java.nio.ByteBuffer byteBuffer) throws Exception
 }
 
 /**
- * Unpacks a Pdu from the underlying data.
+ * Unpacks a Pdu from the underlying data.  A truncated buffer is signalled to the caller by BufferUnderflowException.
  * @throws java.nio.BufferUnderflowException if byteBuffer is too small
  * @see java.nio.ByteBuffer
  * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
@@ -190,22 +190,15 @@ public void marshal(java.nio.ByteBuffer byteBuffer) throws Exception
  */
 public int unmarshal(java.nio.ByteBuffer byteBuffer) throws Exception
 {
-    try
-    {
-        // attribute variableDatumID marked as not serialized
-        variableDatumID = VariableRecordType.unmarshalEnum(byteBuffer);
-        // attribute variableDatumLength marked as not serialized
-        variableDatumLength = byteBuffer.getInt();
-        // attribute variableDatumValue marked as not serialized
-        for (int idx = 0; idx < variableDatumValue.length; idx++)
-            variableDatumValue[idx] = byteBuffer.get();
-        // attribute padding marked as not serialized
-        padding = new byte[Align.from64bits(byteBuffer)];
-    }
-    catch (java.nio.BufferUnderflowException bue)
-    {
-        System.err.println("*** buffer underflow error while unmarshalling " + this.getClass().getName());
-    }
+    // attribute variableDatumID marked as not serialized
+    variableDatumID = VariableRecordType.unmarshalEnum(byteBuffer);
+    // attribute variableDatumLength marked as not serialized
+    variableDatumLength = byteBuffer.getInt();
+    // attribute variableDatumValue marked as not serialized
+    for (int idx = 0; idx < variableDatumValue.length; idx++)
+        variableDatumValue[idx] = byteBuffer.get();
+    // attribute padding marked as not serialized
+    padding = new byte[Align.from64bits(byteBuffer)];
     return getMarshalledSize();
 }
 
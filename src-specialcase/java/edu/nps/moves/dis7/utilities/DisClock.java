@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2008-2023, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+package edu.nps.moves.dis7.utilities;
+
+/**
+ * Source of current time for DIS timestamps.  The default is the local system clock; virtual clocks
+ * allow simulations and replays to run faster (or slower) than real time while timestamps stay consistent.
+ * Implementations must be safe for concurrent use, since timestamps are read by every sending thread.
+ * @see DisTime#setDisClock(DisClock)
+ * @see PduFactory#setDisClock(DisClock)
+ * @see ScaledDisClock
+ * @see SteppedDisClock
+ */
+@FunctionalInterface
+public interface DisClock
+{
+    /** Wall clock of local host, the default */
+    DisClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Current time of this clock
+     * @return milliseconds since 1970 (UTC)
+     */
+    long currentTimeMillis();
+}
@@ -5,7 +5,6 @@
 package edu.nps.moves.dis7.utilities;
 
 import edu.nps.moves.dis7.pdus.*;
-import java.text.SimpleDateFormat;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
@@ -148,13 +147,42 @@ public class DisTime
      * Distinct from Unix timestamp EPOCH.
      * <a href="https://en.wikipedia.org/wiki/Epoch_(computing)" target="_blank">https://en.wikipedia.org/wiki/Epoch_(computing)</a>.
      */
-    private static boolean     applyEpochLvc     = false;
+    private static volatile boolean applyEpochLvc = false;
     
     /** Reference starting time for current DIS timestamps, enabling time normalization of LVC streams.
      * Distinct from Unix timestamp EPOCH.
      * <a href="https://en.wikipedia.org/wiki/Epoch_(computing)" target="_blank">https://en.wikipedia.org/wiki/Epoch_(computing)</a>.
      */
-    private static Instant     epochLvc        = Instant.now(); // initialized at start
+    private static volatile Instant epochLvc      = Instant.now(); // initialized at start
+    
+    /** epochLvc as milliseconds since 1970, avoiding Duration computations for each timestamp */
+    private static volatile long    epochLvcMsec  = epochLvc.toEpochMilli();
+    
+    /** Source of current time for all timestamps, wall clock unless a virtual clock is set */
+    private static volatile DisClock disClock = DisClock.SYSTEM;
+    
+    /** Milliseconds per hour */
+    private static final long MSEC_PER_HOUR = 3600L * 1000L;
+    
+    /** Immutable pair of local top-of-hour boundaries, replaced as a whole so that readers never see a torn pair */
+    private static final class HourBoundaries
+    {
+        /** local top of current hour, milliseconds since 1970 */
+        final long topOfHourMsec;
+        /** local top of next hour, milliseconds since 1970 */
+        final long nextTopOfHourMsec;
+
+        HourBoundaries(long currentTimeMsec)
+        {
+            // time zone offset handles zones whose hours do not begin on UTC hour boundaries, e.g. UTC+05:30
+            long offsetMsec = TimeZone.getDefault().getOffset(currentTimeMsec);
+            topOfHourMsec     = Math.floorDiv(currentTimeMsec + offsetMsec, MSEC_PER_HOUR) * MSEC_PER_HOUR - offsetMsec;
+            nextTopOfHourMsec = topOfHourMsec + MSEC_PER_HOUR;
+        }
+    }
+    
+    /** Cached top-of-hour boundaries, refreshed only on hour rollover (or if the clock is set backwards) */
+    private static volatile HourBoundaries hourBoundaries = new HourBoundaries(System.currentTimeMillis());
   
     /**
      * Default value is TimestampStyle.IEEE_ABSOLUTE.
@@ -182,8 +210,10 @@ public class DisTime
     /** prefix for trace statements */
     public  static final String TIME_COMMENT_PDU_PREFIX = "DisTime metadata: ";
     
-    private static final String DATE_FORMAT_PATTERN = "yyyy-mm-dd";
+    private static final String DATE_FORMAT_PATTERN = "yyyy-MM-dd"; // MM is month, mm would be minutes
     private static final String TIME_FORMAT_PATTERN = "HH:mm:ss";
+    /** shared thread-safe formatter for convertToString(), avoiding Calendar and SimpleDateFormat instances per call */
+    private static final DateTimeFormatter STRING_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT_PATTERN + " " + TIME_FORMAT_PATTERN);
 
     /** Enumerations for prepared time formatters */
     public enum TimeFormatterType
@@ -316,68 +346,72 @@ public class DisTime
      * For current system time, returns the number of DIS time units since the top of the hour, or else
      * number of DIS time units since previously set epochLvc timestamp (for time-zero-based streams).
      * Note that there are 2^31-1 DIS time units per hour.
+     * @param currentTime current time of DisClock, milliseconds since 1970
      * @return integer DIS time units since the start of the hour.
      */
-    private static synchronized int getCurrentDisTimeUnitsSinceTopOfHour()
+    private static int getCurrentDisTimeUnitsSinceTopOfHour(long currentTime)
     {
-        // set calendar object to current time
-        GregorianCalendar calendar = new GregorianCalendar();
-        long currentTime = System.currentTimeMillis(); // UTC milliseconds since 1970
-        calendar.setTimeInMillis(currentTime);
-
-        // Set calendar to top of the hour, then compute what the calendar object says was milliseconds since 1970
-        // at the top of the hour
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        long topOfHourMsec = calendar.getTimeInMillis();
 
         // Milliseconds since the top of the hour
-        long timeDifferenceMsec; // originally diff = currentTime - topOfHour;
-
-        // It turns out that Integer.MAX_VALUE is 2^31-1, which is the time unit value, ie there are
-        // 2^31-1 DIS time units in an hour. 3600 sec/hr X 1000 msec/sec divided into the number of
-        // msec since the start of the hour gives the percentage of DIS time units in the hour, times
-        // the number of DIS time units per hour, equals the time value
-        double differenceValue;
-        int    differenceTimestamp;
+        long timeDifferenceMsec;
         
         if  (!hasEpochLvc())
         {
-            timeDifferenceMsec = currentTime - topOfHourMsec;
+            // lock free: top of the hour is cached and only recomputed on rollover, benign race if several threads do so
+            HourBoundaries boundaries = hourBoundaries;
+            if ((currentTime >= boundaries.nextTopOfHourMsec) || (currentTime < boundaries.topOfHourMsec))
+            {
+                boundaries     = new HourBoundaries(currentTime);
+                hourBoundaries = boundaries;
+            }
+            timeDifferenceMsec = currentTime - boundaries.topOfHourMsec;
         }
         else // normalized time reference having 00:00 at start
         {
-            Duration d = java.time.Duration.between(epochLvc, Instant.now());
-            timeDifferenceMsec = d.toMillis();
+            timeDifferenceMsec = currentTime - epochLvcMsec;
         }
-        differenceValue     = (timeDifferenceMsec / (3600.0 * 1000.0)) * Integer.MAX_VALUE;
-        differenceTimestamp = (int) differenceValue;
-        return differenceTimestamp;
+        // It turns out that Integer.MAX_VALUE is 2^31-1, which is the time unit value, ie there are
+        // 2^31-1 DIS time units in an hour. 3600 sec/hr X 1000 msec/sec divided into the number of
+        // msec since the start of the hour gives the percentage of DIS time units in the hour, times
+        // the number of DIS time units per hour, equals the time value.
+        // Integer arithmetic is exact here since the product stays well within long range.
+        return (int) ((timeDifferenceMsec * Integer.MAX_VALUE) / MSEC_PER_HOUR);
     }
     
     /**
-     * Recommended form, checks local system clock and returns the current DIS standard relative timestamp based on current timestampStyle.
+     * Recommended form, checks current DisClock (by default the local system clock) and returns the current DIS standard timestamp based on current timestampStyle.
      * @see <a href="https://en.wikipedia.org/wiki/Network_Time_Protocol" target="_blank">Wikipedia: Network Time Protocol (NTP)</a>
+     * @see #setDisClock(DisClock)
      * @return DIS time units, relative
      */
     public static int getCurrentDisTimestamp()
+    {
+        return getDisTimestamp(disClock.currentTimeMillis());
+    }
+
+    /**
+     * Returns the DIS standard timestamp for a given time based on current timestampStyle,
+     * for example a time provided by a PduFactory clock.
+     * @param currentTime milliseconds since 1970 (UTC)
+     * @return DIS time units
+     */
+    public static int getDisTimestamp(long currentTime)
     {
         switch (timestampStyle)
         {
             case IEEE_ABSOLUTE:
-                return getCurrentDisAbsoluteTimestamp();
+                return getCurrentDisAbsoluteTimestamp(currentTime);
 
             case IEEE_RELATIVE:
-                return getCurrentDisRelativeTimestamp();
+                return getCurrentDisRelativeTimestamp(currentTime);
             case UNIX:
-                return getCurrentUnixTimestamp();
+                return getCurrentUnixTimestamp(currentTime);
 
             case YEAR: // formerly NPS:
-                return getCurrentYearTimestamp();
+                return getCurrentYearTimestamp(currentTime);
 
             default:
-                return getCurrentDisAbsoluteTimestamp(); // superfluous
+                return getCurrentDisAbsoluteTimestamp(currentTime); // superfluous
         }
     }
 
@@ -385,11 +419,12 @@ public class DisTime
      * Checks local system clock and returns the current DIS standard absolute timestamp, assuming that this host is synchronized to NTP.
      * // Fix to bitshift by mvormelch.
      * @see <a href="https://en.wikipedia.org/wiki/Network_Time_Protocol" target="_blank">Wikipedia: Network Time Protocol (NTP)</a>
+     * @param currentTime milliseconds since 1970 (UTC)
      * @return DIS time units, get absolute timestamp
      */
-    private static synchronized int getCurrentDisAbsoluteTimestamp()
+    private static int getCurrentDisAbsoluteTimestamp(long currentTime)
     {
-        int value = getCurrentDisTimeUnitsSinceTopOfHour();
+        int value = getCurrentDisTimeUnitsSinceTopOfHour(currentTime);
         value = (value << 1) | ABSOLUTE_TIMESTAMP_MASK; // always flip the lsb to 1
         return value;
     }
@@ -399,11 +434,12 @@ public class DisTime
      * which should be used if this host is not synchronized to UTC.
      * // Fix to bitshift by mvormelch
      * @see <a href="https://en.wikipedia.org/wiki/Network_Time_Protocol" target="_blank">Wikipedia: Network Time Protocol (NTP)</a>
+     * @param currentTime milliseconds since 1970 (UTC)
      * @return DIS time units, relative
      */
-    private static int getCurrentDisRelativeTimestamp()
+    private static int getCurrentDisRelativeTimestamp(long currentTime)
     {
-        int value = getCurrentDisTimeUnitsSinceTopOfHour();
+        int value = getCurrentDisTimeUnitsSinceTopOfHour(currentTime);
         value = (value << 1) & RELATIVE_TIMESTAMP_MASK; // always flip the lsb to 0
         return value;
     }
@@ -415,14 +451,14 @@ public class DisTime
      * (Previously referred to as NPS timestamp.)
      * TODO consider renaming as Annual timestamp.
      * TODO consult with DIS working group about timestamp disambiguation.
+     * @param currentTime milliseconds since 1970 (UTC)
      * @return a timestamp in hundredths of a second since the start of the year
      */
     @Deprecated
-    private static synchronized int getCurrentYearTimestamp()
+    private static int getCurrentYearTimestamp(long currentTime)
     {
         // set calendar object to current time
         GregorianCalendar calendar = new GregorianCalendar();
-        long currentTime = System.currentTimeMillis(); // UTC milliseconds since 1970
         calendar.setTimeInMillis(currentTime);
 
         // Set calendar to the start of the year
@@ -457,11 +493,12 @@ public class DisTime
      * Unix time (in seconds) rolls over in 2038. 
      *
      * Consult the Wikipedia page on <a href="https://en.wikipedia.org/wiki/Unix_time" target="_blank">Unix time</a> for the gory details
+     * @param currentTime milliseconds since 1970 (UTC)
      * @return seconds since 1970
      */
-    private static synchronized int getCurrentUnixTimestamp()
+    private static int getCurrentUnixTimestamp(long currentTime)
     {
-        long t = System.currentTimeMillis();
+        long t = currentTime;
         t /= 1000l;   // NB: integer division used to convert milliseconds to seconds
         return (int) t;
     }
@@ -519,33 +556,33 @@ public class DisTime
     /**
      * Convert timestamp value to string for logging and diagnostics,
      * taking into account epochLvc and TimeStampStyle (DIS absolute/relative, Unix or Year).
-     * TODO consider different formats for different timestampStyle values.
-     * @param timestamp value in milliseconds
-     * @see GregorianCalendar
-     * @return string value provided by GregorianCalendar
+     * IEEE timestamps are resolved to the hour nearest the current DisClock time, or else counted from epochLvc when set;
+     * YEAR timestamps are counted from the start of the current local year.
+     * @param timestamp value in current timestampStyle, for example as returned by getCurrentDisTimestamp()
+     * @return string value formatted using DATE_FORMAT_PATTERN and TIME_FORMAT_PATTERN
      */
     public static String convertToString(int timestamp)
     {
-        GregorianCalendar newCalendar = new GregorianCalendar();
-        SimpleDateFormat  formatter   = new SimpleDateFormat(DATE_FORMAT_PATTERN + " " + TIME_FORMAT_PATTERN);
-        
-        if      ((timestampStyle == TimestampStyle.IEEE_ABSOLUTE) || 
-                 (timestampStyle == TimestampStyle.IEEE_RELATIVE))
-        {
-            // if epochLvc is not set, this is regular DIS value
-            newCalendar.setTimeInMillis(timestamp); //  - epochLvc
-            return formatter.format(newCalendar.getTime());
-        }
-        else if (timestampStyle == TimestampStyle.UNIX) // TODO
-        {
-            newCalendar.setTimeInMillis(timestamp);
-            return formatter.format(newCalendar.getTime());
-        }
-        else // (timestampStyle == TimestampStyle.YEAR) // TODO
+        long timestampMsec;
+        switch (timestampStyle)
         {
-            newCalendar.setTimeInMillis(timestamp);
-            return formatter.format(newCalendar.getTime());
+            case UNIX:
+                timestampMsec = Integer.toUnsignedLong(timestamp) * 1000L; // seconds since 1970
+                break;
+
+            case YEAR: // hundredths of a second since the start of the year
+                ZonedDateTime now = Instant.ofEpochMilli(disClock.currentTimeMillis()).atZone(ZoneId.systemDefault());
+                timestampMsec = now.withDayOfYear(1).truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli() +
+                                Integer.toUnsignedLong(timestamp) * 10L; // unsigned, since a year exceeds 2^31 hundredths
+                break;
+
+            default: // IEEE_ABSOLUTE, IEEE_RELATIVE
+                if (hasEpochLvc())
+                     timestampMsec = epochLvcMsec + DisTimestampDecoder.toNanosSinceTopOfHour(timestamp) / 1000000L;
+                else timestampMsec = new DisTimestampDecoder(disClock.currentTimeMillis()).toEpochNanos(timestamp) / 1000000L;
+                break;
         }
+        return STRING_FORMATTER.format(Instant.ofEpochMilli(timestampMsec).atZone(ZoneId.systemDefault()));
     }
 
 //    // TODO is reflection really necessary? no, simpler is better
@@ -628,7 +665,7 @@ public class DisTime
     public static void setEpochLvcNow()
     {
         applyEpochLvc = true;
-        setEpochLvc(Instant.now()); // getCurrentDisAbsoluteTimestamp());
+        setEpochLvc(Instant.ofEpochMilli(disClock.currentTimeMillis())); // getCurrentDisAbsoluteTimestamp());
     }
     
     /** Set Instant value as epochLvc for zero-based clock, meaning timestamps normalized to 0 at that initial starting time
@@ -636,8 +673,9 @@ public class DisTime
      */
     public static void setEpochLvc(java.time.Instant newEpochLvc)
     {
+        epochLvc      = newEpochLvc;
+        epochLvcMsec  = newEpochLvc.toEpochMilli();
         applyEpochLvc = true;
-        epochLvc = newEpochLvc;
     }
     
     /**  Get initial timestamp for zero-based clock, meaning all timestamps are measured with respect to given starting time
@@ -663,6 +701,26 @@ public class DisTime
         applyEpochLvc     = false;
     }
     
+    /** Set clock providing current time for all timestamps, for example a ScaledDisClock or SteppedDisClock
+     * so that simulations and replays run faster than real time with consistent timestamps.
+     * Any epochLvc remains in effect and is measured on the new clock.
+     * @param newDisClock clock of interest, null restores DisClock.SYSTEM
+     * @see ScaledDisClock
+     * @see SteppedDisClock
+     */
+    public static void setDisClock(DisClock newDisClock)
+    {
+        disClock = (newDisClock == null) ? DisClock.SYSTEM : newDisClock;
+    }
+    
+    /** Get clock providing current time for all timestamps
+     * @return current clock, DisClock.SYSTEM by default
+     */
+    public static DisClock getDisClock()
+    {
+        return disClock;
+    }
+    
     /**
      * Return the static instance of the PduFactory
      * @return the static instance of the PduFactory
@@ -698,9 +756,9 @@ public class DisTime
         int initialTimestamp = DisTime.getCurrentDisTimestamp();
         System.out.println("DisTime.getCurrentDisTimestamp() initialTimestamp = " + convertToString(initialTimestamp)                               + " = " + Integer.toUnsignedString(initialTimestamp)                 + " = " + initialTimestamp                 + " (unsigned vs signed output)");
         System.out.println("DisTime.getCurrentDisTimestamp()                  = " + convertToString(DisTime.getCurrentDisTimestamp())               + " = " + Integer.toUnsignedString(DisTime.getCurrentDisTimestamp()) + " = " + DisTime.getCurrentDisTimestamp() + " (unsigned vs signed output)");
-        System.out.println("DisTime.getCurrentDisAbsoluteTimestamp()          = " + convertToString(DisTime.getCurrentDisAbsoluteTimestamp())       + " = " + Integer.toUnsignedString(DisTime.getCurrentDisAbsoluteTimestamp()));
-        System.out.println("DisTime.getCurrentDisRelativeTimestamp()          = " + convertToString(DisTime.getCurrentDisRelativeTimestamp())       + " = " + Integer.toUnsignedString(DisTime.getCurrentDisRelativeTimestamp()));
-        System.out.println("DisTime.getCurrentDisTimeUnitsSinceTopOfHour()    = " + convertToString(DisTime.getCurrentDisTimeUnitsSinceTopOfHour()) + " = " + DisTime.getCurrentDisTimeUnitsSinceTopOfHour());
+        System.out.println("DisTime.getCurrentDisAbsoluteTimestamp()          = " + convertToString(DisTime.getCurrentDisAbsoluteTimestamp(disClock.currentTimeMillis()))       + " = " + Integer.toUnsignedString(DisTime.getCurrentDisAbsoluteTimestamp(disClock.currentTimeMillis())));
+        System.out.println("DisTime.getCurrentDisRelativeTimestamp()          = " + convertToString(DisTime.getCurrentDisRelativeTimestamp(disClock.currentTimeMillis()))       + " = " + Integer.toUnsignedString(DisTime.getCurrentDisRelativeTimestamp(disClock.currentTimeMillis())));
+        System.out.println("DisTime.getCurrentDisTimeUnitsSinceTopOfHour()    = " + convertToString(DisTime.getCurrentDisTimeUnitsSinceTopOfHour(disClock.currentTimeMillis())) + " = " + DisTime.getCurrentDisTimeUnitsSinceTopOfHour(disClock.currentTimeMillis()));
     
         System.out.println();
         System.out.println("=== modern java.time methods ===");
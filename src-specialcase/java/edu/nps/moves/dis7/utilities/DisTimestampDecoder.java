@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2008-2023, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+package edu.nps.moves.dis7.utilities;
+
+import java.util.TimeZone;
+
+/**
+ * Converts received IEEE DIS absolute or relative timestamps into nanoseconds since 1970 using primitive
+ * arithmetic only, without Calendar, formatter or java.time allocations.
+ * <p>
+ * A DIS timestamp only counts 2^31-1 time units since the top of the hour, so the hour it belongs to
+ * must be inferred.  Each decoder tracks a reference time, initially the current DisClock time and then the
+ * most recently decoded timestamp, and resolves every timestamp to the candidate hour nearest that reference.
+ * Timestamps therefore decode correctly across top-of-hour wrap as long as successive PDUs are less than
+ * half an hour apart.  Since senders are not synchronized with each other, use one decoder per sender,
+ * e.g. per EntityID or per site and application.  Instances are not thread safe.
+ * <p>
+ * Hours begin at the local top of the hour, matching timestamps produced by {@link DisTime}.
+ * UNIX and YEAR timestamp styles are not supported.
+ * @see DisTime
+ */
+public final class DisTimestampDecoder
+{
+    /** Nanoseconds per hour */
+    public static final long NANOSECONDS_PER_HOUR = 3600L * 1000000000L;
+
+    private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+    private static final long HALF_HOUR_NANOSECONDS       = NANOSECONDS_PER_HOUR / 2;
+
+    /** NANOSECONDS_PER_HOUR split into quotient and remainder of 2^31-1 time units, keeping products within long range */
+    private static final long NANOSECONDS_PER_UNIT_QUOTIENT  = NANOSECONDS_PER_HOUR / Integer.MAX_VALUE;
+    private static final long NANOSECONDS_PER_UNIT_REMAINDER = NANOSECONDS_PER_HOUR % Integer.MAX_VALUE;
+
+    /** reference time used to select hour, nanoseconds since 1970 */
+    private long referenceNanos;
+
+    /** cached local top of hour containing referenceNanos, nanoseconds since 1970 */
+    private long topOfHourNanos;
+
+    /** Constructor using current time of DisTime clock as initial reference */
+    public DisTimestampDecoder()
+    {
+        this(DisTime.getDisClock().currentTimeMillis());
+    }
+
+    /**
+     * Constructor using given initial reference, for example the capture time of the first PDU in a log
+     * @param referenceTimeMsec milliseconds since 1970 (UTC) close to the first timestamp decoded
+     */
+    public DisTimestampDecoder(long referenceTimeMsec)
+    {
+        setReferenceTimeMillis(referenceTimeMsec);
+    }
+
+    /**
+     * Reset reference time, for example after a gap of more than half an hour in received PDUs
+     * @param referenceTimeMsec milliseconds since 1970 (UTC)
+     */
+    public void setReferenceTimeMillis(long referenceTimeMsec)
+    {
+        referenceNanos = referenceTimeMsec * NANOSECONDS_PER_MILLISECOND;
+        topOfHourNanos = computeTopOfHourNanos(referenceNanos);
+    }
+
+    /**
+     * Get current reference time, which is the most recently decoded time once decoding has begun
+     * @return nanoseconds since 1970 (UTC)
+     */
+    public long getReferenceTimeNanos()
+    {
+        return referenceNanos;
+    }
+
+    /**
+     * Decode one timestamp and advance reference time
+     * @param disTimestamp IEEE absolute or relative timestamp field of a received PDU
+     * @return nanoseconds since 1970 (UTC)
+     */
+    public long toEpochNanos(int disTimestamp)
+    {
+        if ((referenceNanos < topOfHourNanos) || (referenceNanos - topOfHourNanos >= NANOSECONDS_PER_HOUR))
+            topOfHourNanos = computeTopOfHourNanos(referenceNanos);
+
+        long epochNanos = topOfHourNanos + toNanosSinceTopOfHour(disTimestamp);
+        long difference = epochNanos - referenceNanos;
+        if (difference > HALF_HOUR_NANOSECONDS)
+            epochNanos -= NANOSECONDS_PER_HOUR; // sent late in previous hour
+        else if (difference < -HALF_HOUR_NANOSECONDS)
+            epochNanos += NANOSECONDS_PER_HOUR; // sent after rollover into next hour
+
+        referenceNanos = epochNanos;
+        return epochNanos;
+    }
+
+    /**
+     * Decode a series of timestamps from one sender, in received order
+     * @param disTimestamps IEEE absolute or relative timestamp fields
+     * @param epochNanos destination array for nanoseconds since 1970 (UTC), at least as long as disTimestamps
+     */
+    public void toEpochNanos(int[] disTimestamps, long[] epochNanos)
+    {
+        toEpochNanos(disTimestamps, 0, epochNanos, 0, disTimestamps.length);
+    }
+
+    /**
+     * Decode a series of timestamps from one sender, in received order
+     * @param disTimestamps IEEE absolute or relative timestamp fields
+     * @param sourceOffset index of first timestamp
+     * @param epochNanos destination array for nanoseconds since 1970 (UTC)
+     * @param destinationOffset index of first result
+     * @param length number of timestamps to decode
+     */
+    public void toEpochNanos(int[] disTimestamps, int sourceOffset, long[] epochNanos, int destinationOffset, int length)
+    {
+        if ((sourceOffset < 0) || (destinationOffset < 0) || (length < 0) ||
+            (sourceOffset + length > disTimestamps.length) || (destinationOffset + length > epochNanos.length))
+            throw new IndexOutOfBoundsException("toEpochNanos sourceOffset=" + sourceOffset + ", destinationOffset=" + destinationOffset + ", length=" + length);
+        for (int index = 0; index < length; index++)
+            epochNanos[destinationOffset + index] = toEpochNanos(disTimestamps[sourceOffset + index]);
+    }
+
+    /**
+     * Time since top of hour encoded by a timestamp, exact to the nanosecond below
+     * @param disTimestamp IEEE absolute or relative timestamp
+     * @return nanoseconds since top of hour, at most one hour
+     */
+    public static long toNanosSinceTopOfHour(int disTimestamp)
+    {
+        long units = disTimestamp >>> 1; // discard absolute/relative flag
+        return units * NANOSECONDS_PER_UNIT_QUOTIENT + (units * NANOSECONDS_PER_UNIT_REMAINDER) / Integer.MAX_VALUE;
+    }
+
+    /**
+     * Whether timestamp was sent by a host synchronized to UTC
+     * @param disTimestamp IEEE absolute or relative timestamp
+     * @return true for absolute, false for relative timestamp
+     */
+    public static boolean isAbsolute(int disTimestamp)
+    {
+        return (disTimestamp & DisTime.ABSOLUTE_TIMESTAMP_MASK) != 0;
+    }
+
+    /**
+     * Local top of the hour, only needed when reference time moves into another hour
+     * @param epochNanos nanoseconds since 1970 (UTC)
+     * @return nanoseconds since 1970 (UTC)
+     */
+    private static long computeTopOfHourNanos(long epochNanos)
+    {
+        long offsetNanos = TimeZone.getDefault().getOffset(Math.floorDiv(epochNanos, NANOSECONDS_PER_MILLISECOND)) * NANOSECONDS_PER_MILLISECOND;
+        return Math.floorDiv(epochNanos + offsetNanos, NANOSECONDS_PER_HOUR) * NANOSECONDS_PER_HOUR - offsetNanos;
+    }
+}
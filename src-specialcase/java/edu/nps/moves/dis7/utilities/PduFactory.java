@@ -9,9 +9,10 @@ import edu.nps.moves.dis7.pdus.*;
 import edu.nps.moves.dis7.utilities.DisTime.TimestampStyle;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -45,6 +46,20 @@ public class PduFactory
    */
   private TimestampStyle timestampStyle;
 
+  /** Clock for timestamps of PDUs created by this factory, null means DisTime.getDisClock() */
+  private volatile DisClock disClock;
+
+  /** Upper bound on recycled instances held for each PDU type by each thread */
+  private static final int MAXIMUM_POOLED_PDUS_PER_TYPE = 64;
+
+  /** Number of distinct 8-bit PDU type values */
+  private static final int PDU_TYPE_COUNT = 256;
+
+  /** Recycled PDU instances for createPooledPdu(), indexed by PDU type value and confined to each thread */
+  @SuppressWarnings("unchecked")
+  private final ThreadLocal<ArrayDeque<Pdu>[]> pduPools =
+          ThreadLocal.withInitial(() -> (ArrayDeque<Pdu>[]) new ArrayDeque<?>[PDU_TYPE_COUNT]);
+
   /**
    * Create and add initial properties to a new PduFactory using defaults for country (USA), exerciseId (2),
    * application (3) and absolute timestamps.
@@ -109,13 +124,29 @@ public class PduFactory
       else timestampStyle = newTimestampStyle;
   }
 
+  /** accessor to report value
+     * @return clock used for timestamps of created PDUs */
+  public DisClock getDisClock()
+  {
+      DisClock clock = disClock;
+      return (clock == null) ? DisTime.getDisClock() : clock;
+  }
+
+  /** accessor to update value, for example a ScaledDisClock or SteppedDisClock for faster-than-real-time runs
+     * @param newDisClock clock used for timestamps of created PDUs, null means follow DisTime.getDisClock()
+     * @see DisTime#setDisClock(DisClock) */
+  public void setDisClock(DisClock newDisClock)
+  {
+      disClock = newDisClock;
+  }
+
   /* ***************************************************/
  /* utility methods*/
   private PduBase addBoilerPlate(PduBase pdu)
   {
     pdu.getPduStatus().setValue((byte) (PduStatus.AII_ACTIVE | PduStatus.CEI_COUPLED));
     pdu.setExerciseID(defaultExerciseId)
-      .setTimestamp(DisTime.getCurrentDisTimestamp())
+      .setTimestamp(DisTime.getDisTimestamp(getDisClock().currentTimeMillis()))
       .setLength((short) pdu.getMarshalledSize());  //todo check if should be done in Pdu class
                                                     // NOTE: This is not the correct size as there may be additional data not yet set in this PDU
     return pdu;
@@ -124,7 +155,7 @@ public class PduFactory
   private LiveEntityFamilyPdu addBoilerPlate(LiveEntityFamilyPdu pdu)
   {
     pdu.setExerciseID(defaultExerciseId)
-      .setTimestamp(DisTime.getCurrentDisTimestamp())
+      .setTimestamp(DisTime.getDisTimestamp(getDisClock().currentTimeMillis()))
       .setLength((short) pdu.getMarshalledSize());  //todo check if should be done in Pdu class
 
     return pdu;
@@ -1459,54 +1490,83 @@ public class PduFactory
    * @param data an array of PDU data
    * @return A PDU of the appropriate concrete subclass of PDU or null if there was an error
    */
-  public synchronized Pdu createPdu(byte data[])
+  public Pdu createPdu(byte data[])
   {
     if ((data == null) || (data.length == 0))
+    {
         System.err.println ("[PduFactory] createPdu(byte data[]) received null array, unable to determine pduType");
-    
+        return null;
+    }
     return createPdu(ByteBuffer.wrap(data));
   }
 
   /**
    * PDU builder. Pass in a data buffer, get the correct type of pdu back
    * based on the PDU type field contained in the underlying array.
+   * The PDU type byte is used directly as an index into the generated {@link PduSuppliers} table,
+   * so no locking occurs and concurrent decoding threads do not contend.
    *
    * @param byteBuffer the buffer containing PDU data to input
    * @return A PDU of the appropriate concrete subclass of PDU or null if there was an error
    */
-  public synchronized Pdu createPdu(ByteBuffer byteBuffer)
+  public Pdu createPdu(ByteBuffer byteBuffer)
   {
-    DisPduType pduType;
-    
-    if ((byteBuffer == null) || (byteBuffer.array().length == 0))
+    if ((byteBuffer == null) || (byteBuffer.remaining() <= PduSuppliers.PDU_TYPE_INDEX))
     {
         System.err.println ("[PduFactory] createPdu(ByteBuffer byteBuffer) received empty buffer, unable to determine pduType, using DisPduType.OTHER");
-        pduType = DisPduType.OTHER;
+        return createPdu(DisPduType.OTHER.getValue(), null);
     }
-    else pduType = getTypeFromByteArray(byteBuffer.array());
-    
-    return createPdu(pduType, byteBuffer);
+    return createPdu(PduSuppliers.getPduTypeValue(byteBuffer), byteBuffer);
   }
 
   /**
-   * Return the enumerated pdu type from a byte array, typically received from the
-   * network.  Returns DisPduType.OTHER if no byteArray provided.
+   * PDU builder with instance reuse. Pass in a data buffer, get the correct type of pdu back,
+   * unmarshalled into a recycled instance from the calling thread's pool when one is available.
+   * Return the PDU to the pool via {@link #releasePdu(Pdu)} once it is no longer referenced,
+   * otherwise it is simply garbage collected.
    *
-   * @param byteArray byte array
-   * @return the DisPduType
+   * @param byteBuffer the buffer containing PDU data to input
+   * @return A PDU of the appropriate concrete subclass of PDU or null if there was an error
+   * @see #releasePdu(Pdu)
    */
-  private DisPduType getTypeFromByteArray(byte[] byteArray)
+  public Pdu createPooledPdu(ByteBuffer byteBuffer)
   {
-    DisPduType pduType;
-    
-    if ((byteArray == null) || (byteArray.length == 0))
-    {
-        System.err.println ("[PduFactory] getTypeFromByteArray(byte[] byteArray) received empty byteArray, unable to determine pduType, using DisPduType.OTHER");
-        pduType = DisPduType.OTHER;
+    if ((byteBuffer == null) || (byteBuffer.remaining() <= PduSuppliers.PDU_TYPE_INDEX))
+        return createPdu(byteBuffer); // reports problem
+
+    int             pduTypeValue = PduSuppliers.getPduTypeValue(byteBuffer);
+    ArrayDeque<Pdu> pool         = pduPools.get()[pduTypeValue];
+    Pdu             aPdu         = (pool == null) ? null : pool.pollFirst();
+    if (aPdu == null)
+        return createPdu(pduTypeValue, byteBuffer);
+    try {
+        aPdu.setLength(aPdu.unmarshal(byteBuffer));
+    }
+    catch (Exception ex) {
+        Logger.getLogger(PduFactory.class.getName()).log(Level.SEVERE, null, ex);
     }
-    else pduType = DisPduType.getEnumForValue(Byte.toUnsignedInt(byteArray[2])); // 3rd byte
-    
-    return pduType;
+    return aPdu;
+  }
+
+  /**
+   * Reset a PDU and return it to the calling thread's pool for reuse by {@link #createPooledPdu(ByteBuffer)}.
+   * The caller must not retain any reference to the PDU or its nested records afterwards.
+   * Pools are confined to each thread, so no locking occurs; a PDU released on a different thread
+   * than the one which decoded it simply joins the releasing thread's pool.
+   *
+   * @param pdu PDU no longer in use, ignored if null or if pool for this PDU type is full
+   */
+  public void releasePdu(Pdu pdu)
+  {
+    if (pdu == null)
+        return;
+    pdu.reset(); // also restores pduType of this PDU class
+    ArrayDeque<Pdu>[] pools        = pduPools.get();
+    int               pduTypeValue = pdu.getPduType().getValue();
+    if (pools[pduTypeValue] == null)
+        pools[pduTypeValue] = new ArrayDeque<>();
+    if (pools[pduTypeValue].size() < MAXIMUM_POOLED_PDUS_PER_TYPE)
+        pools[pduTypeValue].addFirst(pdu);
   }
 
   /**
@@ -1514,328 +1574,48 @@ public class PduFactory
    * @param pduType PDU type to create
    * @return the empty pdu
    */
-  public synchronized Pdu createPdu(DisPduType pduType)
+  public Pdu createPdu(DisPduType pduType)
   {
-    return createPdu(pduType, null);
+    return createPdu(pduType.getValue(), null);
   }
 
-  private synchronized Pdu createPdu(DisPduType pduType, ByteBuffer byteBuffer)
+  /**
+   * Create a PDU through the generated {@link PduSuppliers} table and unmarshal it when a buffer is provided.
+   * @param pduTypeValue unsigned 8-bit PDU type value
+   * @param byteBuffer buffer positioned at start of PDU, or null for an empty PDU
+   * @return the pdu, or null if no PDU class is defined for that type
+   */
+  private Pdu createPdu(int pduTypeValue, ByteBuffer byteBuffer)
   {
-    Pdu aPdu = null;
-    switch (pduType)
+    Pdu aPdu = PduSuppliers.create(pduTypeValue);
+    if (aPdu == null)
     {
-      case OTHER:
+      if (pduTypeValue == DisPduType.OTHER.getValue())
         // NOTE: 'OTHER' is a valid pduTypeEnum, but has no corresponding object
-        System.err.println ("[PduFactory] (DisPduType pduType, ByteBuffer byteBuffer) received DisPduType.OTHER, which has no corresponding object, returning null");
-        break;
-          
-      case ENTITY_STATE:
-        // if the user has created the factory requesting that he get fast espdus back, give him those.
-        aPdu = new EntityStatePdu();
-        break;
-
-      case FIRE:
-        aPdu = new FirePdu();
-        break;
-
-      case DETONATION:
-        aPdu = new DetonationPdu();
-        break;
-
-      case COLLISION:
-        aPdu = new CollisionPdu();
-        break;
-
-      case SERVICE_REQUEST:
-        aPdu = new ServiceRequestPdu();
-        break;
-
-      case RESUPPLY_OFFER:
-        aPdu = new ResupplyOfferPdu();
-        break;
-
-      case RESUPPLY_RECEIVED:
-        aPdu = new ResupplyReceivedPdu();
-        break;
-
-      case RESUPPLY_CANCEL:
-        aPdu = new ResupplyCancelPdu();
-        break;
-
-      case REPAIR_COMPLETE:
-        aPdu = new RepairCompletePdu();
-        break;
-
-      case REPAIR_RESPONSE:
-        aPdu = new RepairResponsePdu();
-        break;
-
-      case CREATE_ENTITY:
-        aPdu = new CreateEntityPdu();
-        break;
-
-      case REMOVE_ENTITY:
-        aPdu = new RemoveEntityPdu();
-        break;
-
-      case START_RESUME:
-        aPdu = new StartResumePdu();
-        break;
-
-      case STOP_FREEZE:
-        aPdu = new StopFreezePdu();
-        break;
-
-      case ACKNOWLEDGE:
-        aPdu = new AcknowledgePdu();
-        break;
-
-      case ACTION_REQUEST:
-        aPdu = new ActionRequestPdu();
-        break;
-
-      case ACTION_RESPONSE:
-        aPdu = new ActionResponsePdu();
-        break;
-
-      case DATA_QUERY:
-        aPdu = new DataQueryPdu();
-        break;
-
-      case SET_DATA:
-        aPdu = new SetDataPdu();
-        break;
-
-      case DATA:
-        aPdu = new DataPdu();
-        break;
-
-      case EVENT_REPORT:
-        aPdu = new EventReportPdu();
-        break;
-
-      case COMMENT:
-        aPdu = new CommentPdu();
-        break;
-
-      case ELECTROMAGNETIC_EMISSION:
-        aPdu = new ElectromagneticEmissionPdu();
-        break;
-
-      case DESIGNATOR:
-        aPdu = new DesignatorPdu();
-        break;
-
-      case TRANSMITTER:
-        aPdu = new TransmitterPdu();
-        break;
-
-      case SIGNAL:
-        aPdu = new SignalPdu();
-        break;
-
-      case RECEIVER:
-        aPdu = new ReceiverPdu();
-        break;
-
-      case IDENTIFICATION_FRIEND_OR_FOE:
-        aPdu = new IFFPdu();
-        break;
-
-      case UNDERWATER_ACOUSTIC:
-        aPdu = new UnderwaterAcousticPdu();
-        break;
-
-      case SUPPLEMENTAL_EMISSION_ENTITY_STATE:
-        aPdu = new SEESPdu();
-        break;
-
-      case INTERCOM_SIGNAL:
-        aPdu = new IntercomSignalPdu();
-        break;
-
-      case INTERCOM_CONTROL:
-        aPdu = new IntercomControlPdu();
-        break;
-
-      case AGGREGATE_STATE:
-        aPdu = new AggregateStatePdu();
-        break;
-
-      case ISGROUPOF:
-        aPdu = new IsGroupOfPdu();
-        break;
-
-      case TRANSFER_OWNERSHIP:
-        aPdu = new TransferOwnershipPdu();
-        break;
-
-      case ISPARTOF:
-        aPdu = new IsPartOfPdu();
-        break;
-
-      case MINEFIELD_STATE:
-        aPdu = new MinefieldStatePdu();
-        break;
-
-      case MINEFIELD_QUERY:
-        aPdu = new MinefieldQueryPdu();
-        break;
-
-      case MINEFIELD_DATA:
-        aPdu = new MinefieldDataPdu();
-        break;
-
-      case MINEFIELD_RESPONSE_NACK:
-        aPdu = new MinefieldResponseNACKPdu();
-        break;
-
-      case ENVIRONMENTAL_PROCESS:
-        aPdu = new EnvironmentalProcessPdu();
-        break;
-
-      case GRIDDED_DATA:
-        aPdu = new GriddedDataPdu();
-        break;
-
-      case POINT_OBJECT_STATE:
-        aPdu = new PointObjectStatePdu();
-        break;
-
-      case LINEAR_OBJECT_STATE:
-        aPdu = new LinearObjectStatePdu();
-        break;
-
-      case AREAL_OBJECT_STATE:
-        aPdu = new ArealObjectStatePdu();
-        break;
-
-      case TIME_SPACE_POSITION_INFORMATION:
-        aPdu = new TSPIPdu();
-        break;
-
-      case APPEARANCE:
-        aPdu = new AppearancePdu();
-        break;
-
-      case ARTICULATED_PARTS:
-        aPdu = new ArticulatedPartsPdu();
-        break;
-
-      case LIVE_ENTITY_FIRE:
-        aPdu = new LEFirePdu();
-        break;
-
-      case LIVE_ENTITY_DETONATION:
-        aPdu = new LEDetonationPdu();
-        break;
-
-      case CREATE_ENTITY_RELIABLE:
-        aPdu = new CreateEntityReliablePdu();
-        break;
-
-      case REMOVE_ENTITY_RELIABLE:
-        aPdu = new RemoveEntityReliablePdu();
-        break;
-
-      case START_RESUME_RELIABLE:
-        aPdu = new StartResumeReliablePdu();
-        break;
-
-      case STOP_FREEZE_RELIABLE:
-        aPdu = new StopFreezeReliablePdu();
-        break;
-
-      case ACKNOWLEDGE_RELIABLE:
-        aPdu = new AcknowledgeReliablePdu();
-        break;
-
-      case ACTION_REQUEST_RELIABLE:
-        aPdu = new ActionRequestReliablePdu();
-        break;
-
-      case ACTION_RESPONSE_RELIABLE:
-        aPdu = new ActionResponseReliablePdu();
-        break;
-
-      case DATA_QUERY_RELIABLE:
-        aPdu = new DataQueryReliablePdu();
-        break;
-
-      case SET_DATA_RELIABLE:
-        aPdu = new SetDataReliablePdu();
-        break;
-
-      case DATA_RELIABLE:
-        aPdu = new DataReliablePdu();
-        break;
-
-      case EVENT_REPORT_RELIABLE:
-        aPdu = new EventReportReliablePdu();
-        break;
-
-      case COMMENT_RELIABLE:
-        aPdu = new CommentReliablePdu();
-        break;
-
-      case RECORD_RELIABLE:
-        aPdu = new RecordReliablePdu();
-        break;
-
-      case SET_RECORD_RELIABLE:
-        aPdu = new SetRecordReliablePdu();
-        break;
-
-      case RECORD_QUERY_RELIABLE:
-        aPdu = new RecordQueryReliablePdu();
-        break;
-
-      case COLLISION_ELASTIC:
-        aPdu = new CollisionElasticPdu();
-        break;
-
-      case ENTITY_STATE_UPDATE:
-        aPdu = new EntityStateUpdatePdu();
-        break;
-
-      case DIRECTED_ENERGY_FIRE:
-        aPdu = new DirectedEnergyFirePdu();
-        break;
-
-      case ENTITY_DAMAGE_STATUS:
-        aPdu = new EntityDamageStatusPdu();
-        break;
-
-      case INFORMATION_OPERATIONS_ACTION:
-        aPdu = new InformationOperationsActionPdu();
-        break;
-
-      case INFORMATION_OPERATIONS_REPORT:
-        aPdu = new InformationOperationsReportPdu();
-        break;
-
-      case ATTRIBUTE:
-        aPdu = new AttributePdu();
-        break;
-
-      default:
-        System.err.println("[PduFactory] createPdu(DisPduType pduType, ByteBuffer byteBuffer) pduType " + pduType +
+        System.err.println ("[PduFactory] createPdu(int pduTypeValue, ByteBuffer byteBuffer) received DisPduType.OTHER, which has no corresponding object, returning null");
+      else
+        System.err.println("[PduFactory] createPdu(int pduTypeValue, ByteBuffer byteBuffer) pduType " + pduTypeValue +
                            " not implemented, returning null");
-    }   // end switch
-
-    if (aPdu != null) {
-      if (byteBuffer != null) {
-          try {
-              aPdu.setLength(aPdu.unmarshal(byteBuffer));
-          } 
-          catch (Exception ex) {
-              Logger.getLogger(PduFactory.class.getName()).log(Level.SEVERE, null, ex);
-          }
-      }
+      return null;
+    }
+    if (byteBuffer != null) {
+        try {
+            aPdu.setLength(aPdu.unmarshal(byteBuffer));
+        } 
+        catch (Exception ex) {
+            Logger.getLogger(PduFactory.class.getName()).log(Level.SEVERE, null, ex);
+        }
     }
     return aPdu;
   }
 
+
+    /** Smallest PDU is DisPduType 48 ARTICULATED_PARTS, size 17 bytes; shorter bundle remainders are padding */
+    private static final int MINIMUM_PDU_SIZE = 17;
+
+    /** Byte index of 16-bit length field within PDU header */
+    private static final int PDU_LENGTH_INDEX = 8;
+
     /**
      * Decodes datagram contents with bundled PDUs. As a performance hack DIS may
      * include several PDUs in one datagram. Typically the max datagram size is
@@ -1848,86 +1628,70 @@ public class PduFactory
      * @param data a large buffer filled with possible multiple PDUs
      * @param length the size of the multiple PDU buffer
      * @return List of decoded PDUs
+     * @see #getPdusFromBundle(ByteBuffer, Consumer)
      */
-    public List<Pdu> getPdusFromBundle(byte data[], int length) {
-
+    public List<Pdu> getPdusFromBundle(byte data[], int length)
+    {
         // All the PDUs in this bundle we were able to decode
         List<Pdu> pdus = new ArrayList<>();
+        getPdusFromBundle(ByteBuffer.wrap(data, 0, length), pdus::add);
+        return pdus;
+    }
 
-        // The start point of a PDU in the data. We advance this by the size
-        // of each PDU as we read it.
-        int pduStartPointInData = 0;
-        byte remaining[];
+    /**
+     * Decodes datagram contents with bundled PDUs, passing each decoded PDU to a consumer in datagram order.
+     * Each PDU is unmarshalled from a slice of the datagram that is bounded by the length field of its own header,
+     * so no bytes are copied and the next PDU is located directly.  Decoding stops at trailing padding
+     * (a remainder shorter than the smallest PDU, or a zero length field), at a length field that is
+     * inconsistent with the datagram, or at the first PDU that cannot be decoded; PDUs already decoded are kept.
+     *
+     * @param datagram buffer holding possible multiple PDUs between position and limit, position is unchanged
+     * @param consumer receives each decoded PDU
+     * @return number of PDUs decoded
+     */
+    public int getPdusFromBundle(ByteBuffer datagram, Consumer<? super Pdu> consumer)
+    {
+        int pduCount = 0;
+        int pduStartPointInData = datagram.position();
         Pdu pdu;
         int pduLength;
 
-        while (true) {
-            // This is inefficient, but screw it. Give the GC a workout. Create a new
-            // data array from where the last PDU left off to the end of the original
-            // data array. This lets us reuse a bunch of old code.
-
-            remaining = Arrays.copyOfRange(data, pduStartPointInData, length);
-
+        while (datagram.limit() - pduStartPointInData >= MINIMUM_PDU_SIZE)
+        {
+            pduLength = Short.toUnsignedInt(datagram.getShort(pduStartPointInData + PDU_LENGTH_INDEX));
+            if (pduLength == 0)
+            {
+                // remainder of datagram is padding
+                break;
+            }
+            if ((pduLength < MINIMUM_PDU_SIZE) || (pduLength > datagram.limit() - pduStartPointInData))
+            {
+                System.err.println("[PduFactory] bundled PDU length " + pduLength + " at index " + pduStartPointInData +
+                                   " is inconsistent with datagram limit " + datagram.limit() + ", remainder ignored");
+                break;
+            }
             try {
-                // first check remaining byte array for PDU bundle, might simply consist of additional padding
-                if (remaining.length <= 16)
-                {
-                    // remaining byte array is too short, smallest PDU is DisPduType 48 ARTICULATED_PARTS, size 17 bytes
-                    // TODO trace capability
-//                    System.out.println("pduBundle remaining byte array is too short for another PDU, length=" + remaining.length);
-                    break;
-                }
-                else
-                {
-                    boolean remainingNonZeroDataFound = false;
-                    for (byte nextByte : remaining)
-                    {
-                        if (nextByte != 0)
-                        {
-                            remainingNonZeroDataFound = true;
-//                            continue;
-                        }
-                    }
-                    if (!remainingNonZeroDataFound)
-                    {
-                    // TODO trace capability
-//                        System.out.println("pduBundle remaining byte array (length=" + remaining.length + ") is all zeros, ignored");
-                        break;
-                    }
-                }
-                // Decode one PDU
-                pdu = this.createPdu(remaining);
-
-                // If the read is muffed somehow, give up on decoding the rest of
-                // the data
-                if (pdu == null) {
-                    //System.out.println("Stopped reading bundled PDU due to bad PDU");
-                    break;
-                } else // otherwise add it to the list of PDUs we have decoded from this UDP packet
-                {
-                    pdus.add(pdu);
-                }
-
-                // Advance the index to the start of the next PDU
-                pduLength = pdu.getMarshalledSize();
-
-                pduStartPointInData = pduStartPointInData + pduLength;
-
-                //System.out.println("PDUStartPoint:" + pduStartPointInData + " data: " + length);
-                // Have we read all the data?
-                if (pduStartPointInData >= length) {
-                    //System.out.println("Out of data to read" + pduStartPointInData + " data length:" + length);
-                    break;
-                }
-
-            } catch (Exception e) {
-                System.err.println("Problems decoding multiple PDUs in datagram; decoded as may as possible");
+                // Decode one PDU from its own slice, padding alignment is relative to start of PDU
+                pdu = this.createPdu(datagram.slice(pduStartPointInData, pduLength));
+            }
+            catch (Exception e) {
+                Logger.getLogger(PduFactory.class.getName()).log(Level.SEVERE,
+                        "Problems decoding bundled PDU at index " + pduStartPointInData + "; decoded as many as possible", e);
                 break;
             }
-        } // end while
+            // If the read is muffed somehow, give up on decoding the rest of the data
+            if (pdu == null)
+                break;
 
-        return pdus;
+            consumer.accept(pdu);
+            pduCount++;
+
+            // Advance the index to the start of the next PDU, as reported by header
+            pduStartPointInData += pduLength;
+        }
+        return pduCount;
     }
+
     /**
      * If invoked, notify location of unit test (which is located outside of the jar distribution).
      * @param args none supported
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2008-2023, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+package edu.nps.moves.dis7.utilities;
+
+/**
+ * Virtual clock running at a fixed multiple of real time, for example 10x for faster-than-real-time batch runs.
+ * Elapsed real time is measured with monotonic <code>System.nanoTime()</code>, so virtual time never steps
+ * backwards if the wall clock is adjusted.  Instances are immutable and thread safe.
+ * @see DisTime#setDisClock(DisClock)
+ */
+public final class ScaledDisClock implements DisClock
+{
+    private final long   startTimeMsec;
+    private final long   startNanoTime;
+    private final double timeScale;
+
+    /**
+     * Constructor for a clock starting at current wall-clock time
+     * @param timeScale virtual seconds per real second, e.g. 10.0 for ten times faster than real time
+     */
+    public ScaledDisClock(double timeScale)
+    {
+        this(System.currentTimeMillis(), timeScale);
+    }
+
+    /**
+     * Constructor for a clock starting at a given virtual time, for example the first timestamp of a recording
+     * @param startTimeMsec initial virtual time, milliseconds since 1970 (UTC)
+     * @param timeScale virtual seconds per real second, e.g. 10.0 for ten times faster than real time
+     */
+    public ScaledDisClock(long startTimeMsec, double timeScale)
+    {
+        if (!(timeScale > 0.0) || Double.isInfinite(timeScale))
+            throw new IllegalArgumentException("timeScale must be positive and finite, found " + timeScale);
+        this.startTimeMsec = startTimeMsec;
+        this.startNanoTime = System.nanoTime();
+        this.timeScale     = timeScale;
+    }
+
+    @Override
+    public long currentTimeMillis()
+    {
+        return startTimeMsec + (long) ((System.nanoTime() - startNanoTime) * timeScale / 1000000.0);
+    }
+
+    /**
+     * Get multiple of real time
+     * @return virtual seconds per real second
+     */
+    public double getTimeScale()
+    {
+        return timeScale;
+    }
+
+    /**
+     * Get initial virtual time
+     * @return milliseconds since 1970 (UTC)
+     */
+    public long getStartTimeMillis()
+    {
+        return startTimeMsec;
+    }
+}
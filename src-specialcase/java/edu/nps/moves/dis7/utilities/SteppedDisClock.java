@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2008-2023, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+package edu.nps.moves.dis7.utilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual clock that only moves when advanced explicitly, for example once per simulation frame,
+ * so that scenarios execute as fast as the CPU allows while every PDU carries the simulated time.
+ * Thread safe: any thread may read or advance the clock.
+ * @see DisTime#setDisClock(DisClock)
+ */
+public final class SteppedDisClock implements DisClock
+{
+    private final AtomicLong timeMsec;
+
+    /**
+     * Constructor for a clock starting at current wall-clock time
+     */
+    public SteppedDisClock()
+    {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Constructor for a clock starting at a given virtual time
+     * @param startTimeMsec initial virtual time, milliseconds since 1970 (UTC)
+     */
+    public SteppedDisClock(long startTimeMsec)
+    {
+        timeMsec = new AtomicLong(startTimeMsec);
+    }
+
+    @Override
+    public long currentTimeMillis()
+    {
+        return timeMsec.get();
+    }
+
+    /**
+     * Move virtual time forward
+     * @param deltaMsec milliseconds to advance, must not be negative
+     * @return new virtual time, milliseconds since 1970 (UTC)
+     */
+    public long advance(long deltaMsec)
+    {
+        if (deltaMsec < 0)
+            throw new IllegalArgumentException("SteppedDisClock cannot advance by negative time " + deltaMsec);
+        return timeMsec.addAndGet(deltaMsec);
+    }
+
+    /**
+     * Set virtual time, for example to resynchronize with a replayed recording
+     * @param newTimeMsec milliseconds since 1970 (UTC)
+     */
+    public void setTimeMillis(long newTimeMsec)
+    {
+        timeMsec.set(newTimeMsec);
+    }
+}
@@ -8,11 +8,12 @@ package edu.nps.moves.dis7.pdus;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 /**
  * Align is a class with methods to marshal and unmarshal variable length padding.
+ * Padding is written and skipped using position arithmetic, without allocation.
  *
  * @author Mike Bailey, jmbailey@nps.edu
  * @version $Id$
@@ -29,8 +30,8 @@ public class Align
   */
   static public int to16bits(ByteBuffer byteBuffer)
   {
-      int pad = (2 - byteBuffer.position() % 2) % 2;
-      Arrays.stream(new int[pad]).forEach(x->byteBuffer.put((byte)0));
+      int pad = paddingTo16bits(byteBuffer.position());
+      writePadding(byteBuffer, pad);
       return pad;
   }
 
@@ -40,8 +41,8 @@ public class Align
   */
   static public int to16bits(DataOutputStream dos)
   {
-      int pad = (2 - dos.size() % 2) % 2;
-      Arrays.stream(new int[pad]).forEach(x->dosWrite(dos));
+      int pad = paddingTo16bits(dos.size());
+      writePadding(dos, pad);
       return pad;
   }
 
@@ -51,8 +52,8 @@ public class Align
   */
   static public int to32bits(ByteBuffer byteBuffer)
   {
-      int pad = (4 - byteBuffer.position() % 4) % 4;
-      Arrays.stream(new int[pad]).forEach(x->byteBuffer.put((byte)0));
+      int pad = paddingTo32bits(byteBuffer.position());
+      writePadding(byteBuffer, pad);
       return pad;
   }
 
@@ -62,8 +63,8 @@ public class Align
   */
   static public int to32bits(DataOutputStream dos)
   {
-      int pad = (4 - dos.size() % 4) % 4;
-      Arrays.stream(new int[pad]).forEach(x->dosWrite(dos));
+      int pad = paddingTo32bits(dos.size());
+      writePadding(dos, pad);
       return pad;
   }
 
@@ -73,8 +74,8 @@ public class Align
   */
   static public int to64bits(ByteBuffer byteBuffer)
   {
-      int pad = (8 - byteBuffer.position() % 8) % 8;
-      Arrays.stream(new int[pad]).forEach(x->byteBuffer.put((byte)0));
+      int pad = paddingTo64bits(byteBuffer.position());
+      writePadding(byteBuffer, pad);
       return pad;
   }
 
@@ -84,8 +85,8 @@ public class Align
   */
   static public int to64bits(DataOutputStream dos)
   {
-      int pad = (8 - dos.size() % 8) % 8;
-      Arrays.stream(new int[pad]).forEach(x->dosWrite(dos));
+      int pad = paddingTo64bits(dos.size());
+      writePadding(dos, pad);
       return pad;
   }
   
@@ -96,8 +97,8 @@ public class Align
   */
   static public int from16bits(ByteBuffer byteBuffer)
   {
-      int pad = (2 - byteBuffer.position() % 2) % 2;
-      Arrays.stream(new int[pad]).forEach(x->byteBuffer.get());
+      int pad = paddingTo16bits(byteBuffer.position());
+      skipPadding(byteBuffer, pad);
       return pad;
   }
   
@@ -108,8 +109,8 @@ public class Align
   */
   static public int from16bits(int position, DataInputStream dis)
   {
-      int pad = (2 - position % 2) % 2;
-      Arrays.stream(new int[pad]).forEach(x->disRead(dis));
+      int pad = paddingTo16bits(position);
+      skipPadding(dis, pad);
       return pad;
   }
   
@@ -119,8 +120,8 @@ public class Align
   */
   static public int from32bits(ByteBuffer byteBuffer)
   {
-      int pad = (4 - byteBuffer.position() % 4) % 4;
-      Arrays.stream(new int[pad]).forEach(x->byteBuffer.get());
+      int pad = paddingTo32bits(byteBuffer.position());
+      skipPadding(byteBuffer, pad);
       return pad;
   }
   
@@ -131,8 +132,8 @@ public class Align
   */
   static public int from32bits(int position, DataInputStream dis)
   {
-      int pad = (4 - position % 4) % 4;
-      Arrays.stream(new int[pad]).forEach(x->disRead(dis));
+      int pad = paddingTo32bits(position);
+      skipPadding(dis, pad);
       return pad;
   }
   
@@ -142,8 +143,8 @@ public class Align
   */
   static public int from64bits(ByteBuffer byteBuffer)
   {
-      int pad = (8 - byteBuffer.position() % 8) % 8;
-      Arrays.stream(new int[pad]).forEach(x->byteBuffer.get());
+      int pad = paddingTo64bits(byteBuffer.position());
+      skipPadding(byteBuffer, pad);
       return pad;
   }
   
@@ -154,31 +155,89 @@ public class Align
   */
   static public int from64bits(int position, DataInputStream dis)
   {
-      int pad = (8 - position % 8) % 8;
-      Arrays.stream(new int[pad]).forEach(x->disRead(dis));
+      int pad = paddingTo64bits(position);
+      skipPadding(dis, pad);
       return pad;
   }
 
-  static private void disRead(DataInputStream dis)
+  /* ******** Position arithmetic ************* */
+  /** Number of padding bytes following a given size
+   * @param size bytes marshalled since 16-bit aligned start of record
+   * @return padding bytes needed to reach 16-bit boundary
+  */
+  static public int paddingTo16bits(int size)
+  {
+      return (2 - size % 2) % 2;
+  }
+
+  /** Number of padding bytes following a given size
+   * @param size bytes marshalled since 32-bit aligned start of record
+   * @return padding bytes needed to reach 32-bit boundary
+  */
+  static public int paddingTo32bits(int size)
+  {
+      return (4 - size % 4) % 4;
+  }
+
+  /** Number of padding bytes following a given size
+   * @param size bytes marshalled since 64-bit aligned start of record
+   * @return padding bytes needed to reach 64-bit boundary
+  */
+  static public int paddingTo64bits(int size)
+  {
+      return (8 - size % 8) % 8;
+  }
+
+  /** Write zero padding bytes to byteBuffer
+   * @param byteBuffer output
+   * @param pad number of padding bytes
+  */
+  static public void writePadding(ByteBuffer byteBuffer, int pad)
+  {
+      for (int index = 0; index < pad; index++)
+          byteBuffer.put((byte)0);
+  }
+
+  /** Write zero padding bytes to DataOutputStream
+   * @param dos DataOutputStream output
+   * @param pad number of padding bytes
+  */
+  static public void writePadding(DataOutputStream dos, int pad)
   {
       try {
-          dis.read();
+          for (int index = 0; index < pad; index++)
+              dos.writeByte(0);
       }
       catch(IOException ex) {
           ex.printStackTrace(System.err);
           throw new RuntimeException("IOException ex: "+ex.getLocalizedMessage());
       }
   }
-  
-  static private void dosWrite(DataOutputStream dos)
+
+  /** Skip padding bytes in byteBuffer
+   * @param byteBuffer input
+   * @param pad number of padding bytes
+   * @throws BufferUnderflowException if fewer than pad bytes remain, as for any other read
+  */
+  static public void skipPadding(ByteBuffer byteBuffer, int pad)
   {
-     try {
-          dos.writeByte(0);
+      if (byteBuffer.remaining() < pad)
+          throw new BufferUnderflowException();
+      byteBuffer.position(byteBuffer.position() + pad);
+  }
+
+  /** Skip padding bytes in DataInputStream
+   * @param dis input DataInputStream
+   * @param pad number of padding bytes
+  */
+  static public void skipPadding(DataInputStream dis, int pad)
+  {
+      try {
+          dis.skipBytes(pad);
       }
       catch(IOException ex) {
           ex.printStackTrace(System.err);
           throw new RuntimeException("IOException ex: "+ex.getLocalizedMessage());
       }
-      
   }
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * DirectBufferPool recycles direct (off-heap) ByteBuffers for sending PDUs, so that high-rate transmitters
+ * marshal into pre-allocated memory which a DatagramChannel can send without copying into a temporary
+ * direct buffer.  Typical use:
+ * <pre>
+ *   ByteBuffer buffer = pdu.marshal(bufferPool); // acquired from pool, ready to send
+ *   channel.send(buffer, address);
+ *   bufferPool.release(buffer);
+ * </pre>
+ * Each thread keeps its own idle buffers, as PduFactory does for pooled PDUs, so that acquire and release take
+ * no lock and sender threads do not contend.  A buffer released on a thread other than the one that acquired
+ * it joins the idle buffers of the releasing thread.  Acquiring never blocks: when the calling thread has no
+ * idle buffer a new buffer is allocated, and buffers released beyond pool capacity are left to the garbage collector.
+ */
+public final class DirectBufferPool
+{
+    /** default buffer size in bytes, typical maximum DIS datagram size */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /** default maximum number of idle buffers retained by each thread */
+    public static final int DEFAULT_MAXIMUM_POOLED = 64;
+
+    private final int bufferSize;
+    private final int maximumPooled;
+    private final ThreadLocal<ArrayDeque<ByteBuffer>> idleBuffers = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** Constructor using default buffer size and pool capacity */
+    public DirectBufferPool()
+    {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAXIMUM_POOLED);
+    }
+
+    /**
+     * Constructor
+     * @param bufferSize capacity in bytes of each pooled buffer
+     * @param maximumPooled maximum number of idle buffers retained by each thread
+     */
+    public DirectBufferPool(int bufferSize, int maximumPooled)
+    {
+        if ((bufferSize <= 0) || (maximumPooled <= 0))
+            throw new IllegalArgumentException("DirectBufferPool bufferSize " + bufferSize + " and maximumPooled " + maximumPooled + " must be positive");
+        this.bufferSize    = bufferSize;
+        this.maximumPooled = maximumPooled;
+    }
+
+    /**
+     * Obtain a cleared buffer of pooled size
+     * @return direct buffer with position 0 and limit at capacity
+     */
+    public ByteBuffer acquire()
+    {
+        ByteBuffer byteBuffer = idleBuffers.get().pollFirst();
+        if (byteBuffer == null)
+            byteBuffer = ByteBuffer.allocateDirect(bufferSize);
+        return byteBuffer.clear();
+    }
+
+    /**
+     * Obtain a cleared buffer holding at least the given number of bytes
+     * @param minimumCapacity required capacity in bytes
+     * @return pooled direct buffer, or an unpooled direct buffer if larger than pooled size
+     */
+    public ByteBuffer acquire(int minimumCapacity)
+    {
+        if (minimumCapacity > bufferSize)
+            return ByteBuffer.allocateDirect(minimumCapacity); // not retained by release()
+        return acquire();
+    }
+
+    /**
+     * Return a buffer for reuse, caller must not access it afterwards
+     * @param byteBuffer buffer previously acquired, ignored if null or not of pooled size
+     */
+    public void release(ByteBuffer byteBuffer)
+    {
+        if ((byteBuffer == null) || !byteBuffer.isDirect() || byteBuffer.isReadOnly() || (byteBuffer.capacity() != bufferSize))
+            return;
+        ArrayDeque<ByteBuffer> threadIdleBuffers = idleBuffers.get();
+        if (threadIdleBuffers.size() < maximumPooled)
+            threadIdleBuffers.addFirst(byteBuffer);
+    }
+
+    /**
+     * Provide capacity of pooled buffers
+     * @return buffer size in bytes
+     */
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    /**
+     * Provide number of idle buffers currently retained for the calling thread
+     * @return idle buffer count of the calling thread
+     */
+    public int getIdleCount()
+    {
+        return idleBuffers.get().size();
+    }
+
+    /** Provide string representation
+     * @return string representation */
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + " bufferSize " + bufferSize + ", idle " + getIdleCount();
+    }
+}
@@ -0,0 +1,658 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+  * DisBitField holds a SISO bitfield of up to 64 bits in a single <code>long</code>, so that
+  * marshalling and unmarshalling are direct big-endian (network byte order) primitive writes and reads
+  * without intermediate byte arrays.  Bit numbering matches {@link DisBitSet}: bit 0 is the least
+  * significant bit of the marshalled value.  Wider bitfields continue to use {@link DisBitSet}.
+  * <p>
+  * API change: generated bitfields of 64 bits or fewer formerly extended {@link DisBitSet} and therefore
+  * {@link java.util.BitSet}; they now extend this class, which is not a BitSet.  The BitSet methods used with
+  * bitfields (get, set, clear, flip, cardinality, isEmpty, length, nextSetBit, nextClearBit, previousSetBit,
+  * and, or, xor, andNot, intersects, stream, toByteArray, toLongArray) are provided here with identical results,
+  * so most callers recompile unchanged; code that needs an actual BitSet, for example to pass a bitfield to a
+  * method declared with a BitSet parameter, uses {@link #toBitSet()}.
+*/
+public abstract class DisBitField implements Marshaller, Cloneable
+{
+    /** maximum supported size in bits */
+    public static final int MAXIMUM_BIT_LENGTH = Long.SIZE;
+
+    /** size parameter */
+    private final int  bitLength;
+    /** size parameter */
+    private final int byteLength;
+    /** mask of valid bits for this bitLength */
+    private final long validMask;
+
+    /** bit values, bit 0 least significant */
+    private long bits;
+
+    /**
+     * Constructor
+     * @param length number of bits, at most 64
+     */
+    public DisBitField(int length)
+    {
+        if ((length <= 0) || (length > MAXIMUM_BIT_LENGTH))
+            throw new IllegalArgumentException(getClass().getSimpleName() + " bit length " + length + " must be 1.." + MAXIMUM_BIT_LENGTH + ", use DisBitSet instead");
+        bitLength  = length;
+        byteLength = (bitLength + Byte.SIZE - 1) / Byte.SIZE;
+        validMask  = (bitLength == Long.SIZE) ? -1L : (1L << bitLength) - 1;
+    }
+
+    /**
+     * Calculate bit mask
+     * @param position in this DisBitField
+     * @param length number of bits
+     * @return bit mask
+     */
+    protected static int calculateMask(int position, int length)
+    {
+        return calculateMask(length) << position;
+    }
+
+    /**
+     * Calculate bit mask
+     * @param length number of bits
+     * @return bit mask
+     */
+    protected static int calculateMask(int length)
+    {
+        return (length >= Integer.SIZE) ? -1 : (1 << length) - 1;
+    }
+
+    /**
+     * Accessor method to set bits
+     * @param position in this DisBitField
+     * @param length number of bits
+     * @param value value of bits to set
+     */
+    protected void setbits(int position, int length, int value)
+    {
+        long mask = ((length >= Long.SIZE) ? -1L : (1L << length) - 1) << position;
+        bits = (bits & ~mask) | ((((long) value) << position) & mask & validMask);
+    }
+
+    /**
+     * Accessor method to get bits
+     * @param position in this DisBitField
+     * @param length number of bits
+     * @return value of bits, unsigned
+     */
+    protected int getbits(int position, int length)
+    {
+        return (int) ((bits >>> position) & calculateMask(length) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Check bit index, since long shift distances are masked and would otherwise alias another bit
+     * @param position bit index
+     * @throws IndexOutOfBoundsException if position is not within 0..bitLength-1
+     */
+    private void checkPosition(int position)
+    {
+        if ((position < 0) || (position >= bitLength))
+            throw new IndexOutOfBoundsException(getClass().getSimpleName() + " bit position " + position + " must be 0.." + (bitLength - 1));
+    }
+
+    /**
+     * Get single bit
+     * @param position bit index, 0 is least significant
+     * @return whether bit is set
+     * @throws IndexOutOfBoundsException if position is not within 0..bitLength-1
+     */
+    public boolean get(int position)
+    {
+        checkPosition(position);
+        return (bits & (1L << position)) != 0;
+    }
+
+    /**
+     * Set single bit
+     * @param position bit index, 0 is least significant
+     * @throws IndexOutOfBoundsException if position is not within 0..bitLength-1
+     */
+    public void set(int position)
+    {
+        set(position, true);
+    }
+
+    /**
+     * Set or clear single bit
+     * @param position bit index, 0 is least significant
+     * @param value whether bit is set
+     * @throws IndexOutOfBoundsException if position is not within 0..bitLength-1
+     */
+    public void set(int position, boolean value)
+    {
+        checkPosition(position);
+        if (value)
+             bits |=  (1L << position);
+        else bits &= ~(1L << position);
+    }
+
+    /**
+     * Clear single bit
+     * @param position bit index, 0 is least significant
+     * @throws IndexOutOfBoundsException if position is not within 0..bitLength-1
+     */
+    public void clear(int position)
+    {
+        set(position, false);
+    }
+
+    /** Clear all bits */
+    public void clear()
+    {
+        bits = 0;
+    }
+
+    /**
+     * Whether no bits are set
+     * @return true if all bits are clear
+     */
+    public boolean isEmpty()
+    {
+        return bits == 0;
+    }
+
+    /**
+     * Number of bits set
+     * @return count of bits set
+     */
+    public int cardinality()
+    {
+        return Long.bitCount(bits);
+    }
+
+    /**
+     * Provide all bits as a primitive value
+     * @return bits, bit 0 least significant
+     */
+    public long getValue()
+    {
+        return bits;
+    }
+
+    /**
+     * Replace all bits with a primitive value
+     * @param value bits, bit 0 least significant; bits beyond bit length are ignored
+     */
+    public void setValue(long value)
+    {
+        bits = value & validMask;
+    }
+
+    /**
+     * Provide size in bits
+     * @return number of bits
+     */
+    public int getBitLength()
+    {
+        return bitLength;
+    }
+
+    /* ******** java.util.BitSet compatible methods ************* */
+
+    /**
+     * Check range of bit indices, as for java.util.BitSet range methods
+     * @param fromIndex first bit index, inclusive
+     * @param toIndex last bit index, exclusive
+     * @throws IndexOutOfBoundsException if range is not within 0..bitLength
+     */
+    private void checkRange(int fromIndex, int toIndex)
+    {
+        if ((fromIndex < 0) || (toIndex > bitLength) || (fromIndex > toIndex))
+            throw new IndexOutOfBoundsException(getClass().getSimpleName() + " bit range " + fromIndex + ".." + toIndex + " must be within 0.." + bitLength);
+    }
+
+    /**
+     * Mask of a bit range
+     * @param fromIndex first bit index, inclusive
+     * @param toIndex last bit index, exclusive
+     * @return mask with bits fromIndex..toIndex-1 set
+     */
+    private static long rangeMask(int fromIndex, int toIndex)
+    {
+        if (fromIndex == toIndex)
+            return 0L;
+        return (-1L >>> (Long.SIZE - (toIndex - fromIndex))) << fromIndex;
+    }
+
+    /**
+     * Set or clear a range of bits
+     * @param fromIndex first bit index, inclusive
+     * @param toIndex last bit index, exclusive
+     * @param value whether bits are set
+     * @throws IndexOutOfBoundsException if range is not within 0..bitLength
+     * @see java.util.BitSet#set(int, int, boolean)
+     */
+    public void set(int fromIndex, int toIndex, boolean value)
+    {
+        checkRange(fromIndex, toIndex);
+        if (value)
+             bits |=  rangeMask(fromIndex, toIndex);
+        else bits &= ~rangeMask(fromIndex, toIndex);
+    }
+
+    /**
+     * Set a range of bits
+     * @param fromIndex first bit index, inclusive
+     * @param toIndex last bit index, exclusive
+     * @throws IndexOutOfBoundsException if range is not within 0..bitLength
+     * @see java.util.BitSet#set(int, int)
+     */
+    public void set(int fromIndex, int toIndex)
+    {
+        set(fromIndex, toIndex, true);
+    }
+
+    /**
+     * Clear a range of bits
+     * @param fromIndex first bit index, inclusive
+     * @param toIndex last bit index, exclusive
+     * @throws IndexOutOfBoundsException if range is not within 0..bitLength
+     * @see java.util.BitSet#clear(int, int)
+     */
+    public void clear(int fromIndex, int toIndex)
+    {
+        set(fromIndex, toIndex, false);
+    }
+
+    /**
+     * Complement single bit
+     * @param position bit index, 0 is least significant
+     * @throws IndexOutOfBoundsException if position is not within 0..bitLength-1
+     * @see java.util.BitSet#flip(int)
+     */
+    public void flip(int position)
+    {
+        checkPosition(position);
+        bits ^= (1L << position);
+    }
+
+    /**
+     * Complement a range of bits
+     * @param fromIndex first bit index, inclusive
+     * @param toIndex last bit index, exclusive
+     * @throws IndexOutOfBoundsException if range is not within 0..bitLength
+     * @see java.util.BitSet#flip(int, int)
+     */
+    public void flip(int fromIndex, int toIndex)
+    {
+        checkRange(fromIndex, toIndex);
+        bits ^= rangeMask(fromIndex, toIndex);
+    }
+
+    /**
+     * Index of highest set bit plus one
+     * @return logical length, 0 if no bits are set
+     * @see java.util.BitSet#length()
+     */
+    public int length()
+    {
+        return Long.SIZE - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * Index of first set bit at or after a given index
+     * @param fromIndex bit index to start from, inclusive
+     * @return index of next set bit, or -1 if none
+     * @throws IndexOutOfBoundsException if fromIndex is negative
+     * @see java.util.BitSet#nextSetBit(int)
+     */
+    public int nextSetBit(int fromIndex)
+    {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (fromIndex >= Long.SIZE)
+            return -1;
+        long remaining = bits & (-1L << fromIndex);
+        return (remaining == 0) ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Index of first clear bit at or after a given index
+     * @param fromIndex bit index to start from, inclusive
+     * @return index of next clear bit, which may be at or beyond bit length as for java.util.BitSet
+     * @throws IndexOutOfBoundsException if fromIndex is negative
+     * @see java.util.BitSet#nextClearBit(int)
+     */
+    public int nextClearBit(int fromIndex)
+    {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (fromIndex >= Long.SIZE)
+            return fromIndex;
+        long remaining = ~bits & (-1L << fromIndex);
+        return (remaining == 0) ? Long.SIZE : Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Index of last set bit at or before a given index
+     * @param fromIndex bit index to start from, inclusive, or -1
+     * @return index of previous set bit, or -1 if none
+     * @throws IndexOutOfBoundsException if fromIndex is less than -1
+     * @see java.util.BitSet#previousSetBit(int)
+     */
+    public int previousSetBit(int fromIndex)
+    {
+        if (fromIndex < -1)
+            throw new IndexOutOfBoundsException("fromIndex < -1: " + fromIndex);
+        if (fromIndex == -1)
+            return -1;
+        long remaining = (fromIndex >= Long.SIZE - 1) ? bits : bits & ((1L << (fromIndex + 1)) - 1);
+        return (remaining == 0) ? -1 : Long.SIZE - 1 - Long.numberOfLeadingZeros(remaining);
+    }
+
+    /**
+     * Logical AND with another bitfield, bits beyond this bit length are ignored
+     * @param other bitfield of interest
+     * @see java.util.BitSet#and(java.util.BitSet)
+     */
+    public void and(DisBitField other)
+    {
+        bits &= other.bits;
+    }
+
+    /**
+     * Logical OR with another bitfield, bits beyond this bit length are ignored
+     * @param other bitfield of interest
+     * @see java.util.BitSet#or(java.util.BitSet)
+     */
+    public void or(DisBitField other)
+    {
+        bits = (bits | other.bits) & validMask;
+    }
+
+    /**
+     * Logical XOR with another bitfield, bits beyond this bit length are ignored
+     * @param other bitfield of interest
+     * @see java.util.BitSet#xor(java.util.BitSet)
+     */
+    public void xor(DisBitField other)
+    {
+        bits = (bits ^ other.bits) & validMask;
+    }
+
+    /**
+     * Clear all bits that are set in another bitfield
+     * @param other bitfield of interest
+     * @see java.util.BitSet#andNot(java.util.BitSet)
+     */
+    public void andNot(DisBitField other)
+    {
+        bits &= ~other.bits;
+    }
+
+    /**
+     * Whether any bit is set in both bitfields
+     * @param other bitfield of interest
+     * @return true if bitfields intersect
+     * @see java.util.BitSet#intersects(java.util.BitSet)
+     */
+    public boolean intersects(DisBitField other)
+    {
+        return (bits & other.bits) != 0;
+    }
+
+    /**
+     * Stream of indices of set bits, in increasing order
+     * @return stream of set bit indices
+     * @see java.util.BitSet#stream()
+     */
+    public IntStream stream()
+    {
+        return BitSet.valueOf(new long[] { bits }).stream();
+    }
+
+    /**
+     * Little-endian byte array of all set bits, as returned by java.util.BitSet rather than marshalled network byte order
+     * @return bytes up to and including highest set bit, empty if no bits are set
+     * @see java.util.BitSet#toByteArray()
+     */
+    public byte[] toByteArray()
+    {
+        byte[] bytes = new byte[(length() + Byte.SIZE - 1) / Byte.SIZE];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = (byte) (bits >>> (i * Byte.SIZE));
+        return bytes;
+    }
+
+    /**
+     * Long array of all set bits, as returned by java.util.BitSet
+     * @return one element holding all bits, empty if no bits are set
+     * @see java.util.BitSet#toLongArray()
+     */
+    public long[] toLongArray()
+    {
+        return (bits == 0) ? new long[0] : new long[] { bits };
+    }
+
+    /**
+     * Copy bits into a new java.util.BitSet, for callers that need a BitSet instance
+     * @return BitSet holding the same bits, independent of this bitfield
+     */
+    public BitSet toBitSet()
+    {
+        return BitSet.valueOf(new long[] { bits });
+    }
+
+  /**
+   * Returns size of this serialized (marshalled) object in bytes
+   * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+   * @return serialized size in bytes
+   */
+    @Override
+    public int getMarshalledSize()
+    {
+        return byteLength;
+    }
+
+    /** Marshal value to DataOutputStream
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @param dos DataOutputStream for output */
+    @Override
+    public void marshal(DataOutputStream dos)
+    {
+        try {
+            switch (byteLength) {
+                case 1:  dos.writeByte ((int)   bits); break;
+                case 2:  dos.writeShort((int)   bits); break;
+                case 4:  dos.writeInt  ((int)   bits); break;
+                case 8:  dos.writeLong (        bits); break;
+                default:
+                    for (int shift = (byteLength - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE)
+                        dos.writeByte((int) (bits >>> shift));
+            }
+        }
+        catch (IOException ex) {
+            System.out.println(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    /** Marshal value to ByteBuffer
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @param byteBuffer ByteBuffer for output */
+    @Override
+    public void marshal(ByteBuffer byteBuffer)
+    {
+        switch (byteLength) {
+            case 1:  byteBuffer.put     ((byte)  bits); break;
+            case 2:  byteBuffer.putShort((short) bits); break;
+            case 4:  byteBuffer.putInt  ((int)   bits); break;
+            case 8:  byteBuffer.putLong (        bits); break;
+            default:
+                for (int shift = (byteLength - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE)
+                    byteBuffer.put((byte) (bits >>> shift));
+        }
+    }
+
+    /**
+     * Deserializes an object from a DataInputStream.
+     * @param dis DataInputStream
+     * @see java.io.DataInputStream
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @return marshalled serialized size in bytes
+     */
+    @Override
+    public int unmarshal(DataInputStream dis)
+    {
+        try {
+            long value;
+            switch (byteLength) {
+                case 1:  value = dis.readUnsignedByte();                break;
+                case 2:  value = dis.readUnsignedShort();               break;
+                case 4:  value = dis.readInt() & 0xFFFFFFFFL;           break;
+                case 8:  value = dis.readLong();                        break;
+                default:
+                    value = 0;
+                    for (int i = 0; i < byteLength; i++)
+                        value = (value << Byte.SIZE) | dis.readUnsignedByte();
+            }
+            bits = value & validMask;
+        }
+        catch (IOException ex) {
+            showError(ex);
+        }
+        return byteLength;
+    }
+
+    /**
+     * Deserializes an object from a ByteBuffer.
+     * @param byteBuffer input
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @return marshalled serialized size in bytes
+     */
+    @Override
+    public int unmarshal(ByteBuffer byteBuffer)
+    {
+        long value;
+        switch (byteLength) {
+            case 1:  value = byteBuffer.get()      & 0xFFL;       break;
+            case 2:  value = byteBuffer.getShort() & 0xFFFFL;     break;
+            case 4:  value = byteBuffer.getInt()   & 0xFFFFFFFFL; break;
+            case 8:  value = byteBuffer.getLong();                break;
+            default:
+                value = 0;
+                for (int i = 0; i < byteLength; i++)
+                    value = (value << Byte.SIZE) | (byteBuffer.get() & 0xFFL);
+        }
+        bits = value & validMask;
+        return byteLength;
+    }
+
+    /**
+     * Deserializes an object from a ByteBuffer at an absolute index without allocation, buffer position is unchanged.
+     * @param byteBuffer input
+     * @param index absolute index of first (most significant) byte
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @return marshalled serialized size in bytes
+     */
+    @Override
+    public int unmarshal(ByteBuffer byteBuffer, int index)
+    {
+        long value;
+        switch (byteLength) {
+            case 1:  value = byteBuffer.get(index)      & 0xFFL;       break;
+            case 2:  value = byteBuffer.getShort(index) & 0xFFFFL;     break;
+            case 4:  value = byteBuffer.getInt(index)   & 0xFFFFFFFFL; break;
+            case 8:  value = byteBuffer.getLong(index);                break;
+            default:
+                value = 0;
+                for (int i = 0; i < byteLength; i++)
+                    value = (value << Byte.SIZE) | (byteBuffer.get(index + i) & 0xFFL);
+        }
+        bits = value & validMask;
+        return byteLength;
+    }
+
+    /** Create independent copy holding the same bits
+     * @return copy of same class */
+    @Override
+    public DisBitField clone()
+    {
+        try
+        {
+            return (DisBitField) super.clone(); // all fields are primitive
+        }
+        catch (CloneNotSupportedException ex)
+        {
+            throw new AssertionError(ex); // Cloneable is implemented
+        }
+    }
+
+    /**
+     * Copy a bitfield of either representation, as used by generated copy constructors
+     * @param bitField DisBitField or DisBitSet instance, may be null
+     * @return independent copy of same class, or null
+     */
+    public static Marshaller copyOf(Marshaller bitField)
+    {
+        if (bitField == null)
+            return null;
+        if (bitField instanceof DisBitField)
+            return ((DisBitField) bitField).clone();
+        if (bitField instanceof DisBitSet)
+            return (Marshaller) ((DisBitSet) bitField).clone(); // BitSet.clone() preserves subclass
+        throw new IllegalArgumentException("DisBitField.copyOf() unsupported bitfield class " + bitField.getClass().getName());
+    }
+
+    /** Compare bits and class
+     * @param obj object of interest
+     * @return whether equal */
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+            return true;
+        if ((obj == null) || (obj.getClass() != getClass()))
+            return false;
+        return bits == ((DisBitField) obj).bits;
+    }
+
+    /** Hash of bits
+     * @return hash code */
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(bits);
+    }
+
+    /** Provide string representation listing set bit positions, matching {@link java.util.BitSet#toString()}
+     * @return string representation */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("{");
+        long remaining = bits;
+        while (remaining != 0)
+        {
+            if (sb.length() > 1)
+                sb.append(", ");
+            sb.append(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1; // clear lowest set bit
+        }
+        return sb.append('}').toString();
+    }
+
+    private void showError(Throwable ex)
+    {
+        System.out.flush(); // ensure contiguous console outputs
+        System.err.println(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        System.err.flush(); // ensure contiguous console outputs
+    }
+}
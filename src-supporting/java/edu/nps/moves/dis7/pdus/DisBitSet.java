@@ -83,6 +83,22 @@ public abstract class DisBitSet extends BitSet implements Marshaller
         }
     }
 
+    /**
+     * Accessor method to get bits
+     * @param position in this DisBitSet
+     * @param length number of bits
+     * @return value of bits
+     */
+    protected int getbits(int position, int length)
+    {
+        int value = 0;
+        for (int i = position, j = 0; i < position + length; i++, j++) {
+            if (get(i)) // BitSet class
+                value |= (1 << j);
+        }
+        return value;
+    }
+
   /**
    * Returns size of this serialized (marshalled) object in bytes
    * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
@@ -169,6 +185,26 @@ public abstract class DisBitSet extends BitSet implements Marshaller
         return getMarshalledSize();
     }
 
+    /**
+     * Deserializes an object from a ByteBuffer at an absolute index without allocation, buffer position is unchanged.
+     * @param byteBuffer input
+     * @param index absolute index of first (most significant) byte
+     * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
+     * @return marshalled serialized size in bytes
+     */
+    @Override
+    public int unmarshal(ByteBuffer byteBuffer, int index)
+    {
+        for (int i = 0; i < byteLength; i++) {
+            byte b      = byteBuffer.get(index + i);
+            int  bitnum = (byteLength - 1 - i) * Byte.SIZE; // network byte order, most significant byte first
+            for (int j = 0; j < Byte.SIZE; j++) {
+                set(bitnum + j, isBitSet(b, j));
+            }
+        }
+        return getMarshalledSize();
+    }
+
     /** Deserializes an object from a byte array
      * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
      * @see <a href="https://en.wikipedia.org/wiki/Endianness" target="_blank">https://en.wikipedia.org/wiki/Endianness</a>
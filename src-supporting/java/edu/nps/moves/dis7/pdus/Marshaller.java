@@ -52,4 +52,26 @@ public interface Marshaller
      * @param byteBuffer The ByteBuffer at the position to begin reading
      */
     int unmarshal(ByteBuffer byteBuffer) throws Exception;
+
+    /**
+     * Unpacks from the underlying data at an absolute index, buffer position is unchanged.
+     * Implementations with a fixed layout override this with absolute reads; this default temporarily
+     * moves the buffer position and restores it afterwards.
+     * @return the size of the unpacked data
+     * @throws Exception error during unmarshalling
+     * @see java.nio.ByteBuffer
+     * @param byteBuffer The ByteBuffer holding the data
+     * @param index absolute index to begin reading
+     */
+    default int unmarshal(ByteBuffer byteBuffer, int index) throws Exception
+    {
+        int position = byteBuffer.position();
+        byteBuffer.position(index);
+        try {
+            return unmarshal(byteBuffer);
+        }
+        finally {
+            byteBuffer.position(position);
+        }
+    }
 }
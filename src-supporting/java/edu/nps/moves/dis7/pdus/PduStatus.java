@@ -96,6 +96,15 @@ public class PduStatus
       value = byteValue;
     }
 
+    /**
+     * Copy constructor
+     * @param source object to copy
+     */
+    public PduStatus(PduStatus source)
+    {
+      value = source.value;
+    }
+
     /**
      * Accessor method to set value
      * @param byteValue byte value of interest
@@ -114,6 +123,16 @@ public class PduStatus
       return value;
     }
 
+    /**
+     * Resets value to that of a newly constructed instance, for reuse without reallocation
+     * @return same object to permit progressive setters
+     */
+    public PduStatus reset()
+    {
+      value = 0;
+      return this;
+    }
+
     /**
      * Apply | "or" operator using mask
      * @param orMask mask to apply
@@ -125,6 +144,9 @@ public class PduStatus
       return value;
     }
 
+  /** Serialized (marshalled) size in bytes, fixed by record layout */
+  public static final int MARSHALLED_SIZE = 1;
+
   /**
    * Returns size of this serialized (marshalled) object in bytes
    * @see <a href="https://en.wikipedia.org/wiki/Marshalling_(computer_science)" target="_blank">https://en.wikipedia.org/wiki/Marshalling_(computer_science)</a>
@@ -132,7 +154,7 @@ public class PduStatus
    */
   public int getMarshalledSize()
   {
-    return 1;
+    return MARSHALLED_SIZE;
   }
 
     /** Marshal value to DataOutputStream
@@ -181,6 +203,20 @@ public class PduStatus
       return 1;
     }
 
+    /**
+     * Unpacks from the underlying data at an absolute index, buffer position is unchanged.
+     *
+     * @see java.nio.ByteBuffer
+     * @param byteBuffer The ByteBuffer holding the data
+     * @param index absolute index to begin reading
+     * @return marshalled serialized size in bytes
+     */
+    public int unmarshal(ByteBuffer byteBuffer, int index)
+    {
+      value = byteBuffer.get(index);
+      return 1;
+    }
+
     /**
      * Object equality comparison
      * @param obj object to compare
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * PduView is the superclass of autogenerated flyweight views (for example EntityStatePduView) that read
+ * PDU fields directly from a received ByteBuffer, without unmarshalling a PDU object.
+ * <p>
+ * A view holds only a buffer reference and the offset where the PDU starts.  Accessors use absolute
+ * ByteBuffer reads at field offsets fixed by the PDU record layout, so reading fields neither allocates nor
+ * changes the buffer position.  Offsets of fields that follow variable-length sections are computed on demand.
+ * A single view instance can be rebound to each received packet via {@link #wrap(ByteBuffer, int)}.
+ * <p>
+ * Views are not thread safe, and the buffer contents must not be modified while a view is in use.
+ * Use the generated toPdu() method to obtain an independent PDU object when needed.
+ */
+public abstract class PduView
+{
+    /** buffer holding received PDU */
+    protected ByteBuffer buffer;
+    /** absolute index of first byte of PDU within buffer */
+    protected int        offset;
+
+    /** Constructor for unbound view, invoke wrap() before reading fields */
+    protected PduView()
+    {
+    }
+
+    /**
+     * Bind this view to a PDU within a buffer, replacing any prior binding
+     * @param byteBuffer buffer holding received PDU, in network byte order
+     * @param pduOffset absolute index of first byte of PDU within buffer
+     * @return same view to permit chained accessors
+     */
+    public PduView wrap(ByteBuffer byteBuffer, int pduOffset)
+    {
+        this.buffer = byteBuffer;
+        this.offset = pduOffset;
+        return this;
+    }
+
+    /**
+     * Bind this view to the PDU starting at the current position of a buffer, buffer position is unchanged
+     * @param byteBuffer buffer holding received PDU, in network byte order
+     * @return same view to permit chained accessors
+     */
+    public PduView wrap(ByteBuffer byteBuffer)
+    {
+        return wrap(byteBuffer, byteBuffer.position());
+    }
+
+    /**
+     * Provide buffer holding PDU
+     * @return buffer, null if unbound
+     */
+    public ByteBuffer getBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Provide absolute index of first byte of PDU within buffer
+     * @return offset
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Read an unsigned value, as used by enumerations and list counts
+     * @param position absolute index within buffer
+     * @param size value size in bytes: 1, 2 or 4
+     * @return unsigned value; 4-byte values are returned as raw int bits
+     */
+    protected final int getUnsigned(int position, int size)
+    {
+        switch (size)
+        {
+            case 1:  return buffer.get(position) & 0xFF;
+            case 2:  return buffer.getShort(position) & 0xFFFF;
+            default: return buffer.getInt(position);
+        }
+    }
+
+    /**
+     * Read an unsigned value of arbitrary width up to 8 bytes, as used by bitfields
+     * @param position absolute index within buffer
+     * @param size value size in bytes
+     * @return unsigned value, most significant byte first
+     */
+    protected final long getUnsignedLong(int position, int size)
+    {
+        switch (size)
+        {
+            case 1:  return buffer.get(position)      & 0xFFL;
+            case 2:  return buffer.getShort(position) & 0xFFFFL;
+            case 4:  return buffer.getInt(position)   & 0xFFFFFFFFL;
+            case 8:  return buffer.getLong(position);
+            default:
+                long value = 0;
+                for (int index = 0; index < size; index++)
+                    value = (value << Byte.SIZE) | (buffer.get(position + index) & 0xFFL);
+                return value;
+        }
+    }
+
+    /**
+     * Absolute index following a padding field, matching Align alignment relative to start of PDU
+     * @param position absolute index of padding field
+     * @param boundary alignment in bytes: 2, 4 or 8
+     * @return absolute index of next field
+     */
+    protected final int align(int position, int boundary)
+    {
+        return position + (boundary - (position - offset) % boundary) % boundary;
+    }
+
+    /** Provide string representation
+     * @return string representation */
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + " offset " + offset;
+    }
+}
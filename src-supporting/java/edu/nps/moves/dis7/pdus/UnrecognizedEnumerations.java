@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UnrecognizedEnumerations counts values received for autogenerated enumerations that are not
+ * defined by SISO-REF-010, and selects how getEnumForValue() reports them.
+ * <p>
+ * In default (strict) mode an unrecognized value is reported on System.err and null is returned.
+ * In lenient mode the enumeration's UNRECOGNIZED_VALUE sentinel is returned and nothing is printed,
+ * so that a misbehaving sender cannot stall a receive thread on console output.
+ * The sentinel does not retain the raw value received, so a PDU holding it cannot be marshalled again
+ * (for example when relayed), and marshalling throws IllegalStateException instead of writing a substitute value.
+ * Each enumeration class registers a counter once during class initialization; counting is lock free
+ * and may be polled at any time from any thread.
+ */
+public final class UnrecognizedEnumerations
+{
+    private static volatile boolean lenient = false;
+
+    private static final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    private UnrecognizedEnumerations()
+    {
+    }
+
+    /**
+     * Select lenient decoding for all autogenerated enumerations
+     * @param value true for UNRECOGNIZED_VALUE sentinel without console output, false for null result with console output
+     */
+    public static void setLenient(boolean value)
+    {
+        lenient = value;
+    }
+
+    /**
+     * Whether lenient decoding is selected
+     * @return true if unrecognized values map to UNRECOGNIZED_VALUE sentinel without console output
+     */
+    public static boolean isLenient()
+    {
+        return lenient;
+    }
+
+    /**
+     * Provide counter for an enumeration class, invoked once by each autogenerated enumeration
+     * @param enumerationClass enumeration class of interest
+     * @return counter for this enumeration class
+     */
+    public static Counter register(Class<?> enumerationClass)
+    {
+        return counters.computeIfAbsent(enumerationClass, Counter::new);
+    }
+
+    /**
+     * Number of unrecognized values received for an enumeration class
+     * @param enumerationClass enumeration class of interest
+     * @return count of unrecognized values, zero if none received or class not yet initialized
+     */
+    public static long getCount(Class<?> enumerationClass)
+    {
+        Counter counter = counters.get(enumerationClass);
+        return (counter == null) ? 0 : counter.getCount();
+    }
+
+    /**
+     * Snapshot of enumeration classes that have received unrecognized values
+     * @return map from enumeration class name to count of unrecognized values, sorted by name
+     */
+    public static Map<String, Long> getCounts()
+    {
+        Map<String, Long> result = new TreeMap<>();
+        for (Counter counter : counters.values())
+        {
+            long count = counter.getCount();
+            if (count > 0)
+                result.put(counter.getEnumerationClass().getName(), count);
+        }
+        return result;
+    }
+
+    /** Reset all counters to zero */
+    public static void reset()
+    {
+        for (Counter counter : counters.values())
+        {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Counter of unrecognized values for one enumeration class, also holding the most recent raw value received
+     */
+    public static final class Counter
+    {
+        private final Class<?> enumerationClass;
+        private final LongAdder count = new LongAdder();
+        private volatile int lastValue;
+
+        private Counter(Class<?> enumerationClass)
+        {
+            this.enumerationClass = enumerationClass;
+        }
+
+        /**
+         * Record one unrecognized value, without allocation or locking
+         * @param value raw value received
+         */
+        public void record(int value)
+        {
+            count.increment();
+            lastValue = value;
+        }
+
+        /**
+         * Provide enumeration class for this counter
+         * @return enumeration class
+         */
+        public Class<?> getEnumerationClass()
+        {
+            return enumerationClass;
+        }
+
+        /**
+         * Provide number of unrecognized values received
+         * @return count
+         */
+        public long getCount()
+        {
+            return count.sum();
+        }
+
+        /**
+         * Provide most recent unrecognized raw value, since sentinel UNRECOGNIZED_VALUE does not retain it.
+         * Only one value is kept for each enumeration class, not one for each decoded field.
+         * @return most recent raw value, zero if none received
+         */
+        public int getLastValue()
+        {
+            return lastValue;
+        }
+
+        /** Reset count to zero */
+        public void reset()
+        {
+            count.reset();
+            lastValue = 0;
+        }
+
+        /** Provide string representation
+         * @return string representation */
+        @Override
+        public String toString()
+        {
+            return enumerationClass.getSimpleName() + " unrecognized values: " + getCount() + ", last value: " + lastValue;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trip tests for every PDU with padding, whose marshalled size depends on the length of the fields preceding it.
+ * Each PDU is marshalled fresh and again after list contents change, since getMarshalledSize() must be exact before
+ * the first marshal for marshal(), marshalInto() and pooled buffers to be sized correctly, and at buffer offsets
+ * that are not aligned, since padding is relative to start of PDU.
+ */
+public class PaddedPduRoundTripTest
+{
+    /** Marshal a PDU via each buffer-sizing method, then unmarshal into a new instance and compare bytes
+     * @param pdu populated PDU of interest */
+    private static void assertRoundTrip(Pdu pdu) throws Exception
+    {
+        int size = pdu.getMarshalledSize();
+
+        ByteBuffer marshalled = pdu.marshal(); // exact size from getMarshalledSize()
+        assertEquals(size, marshalled.remaining(), pdu.getClass().getSimpleName() + " marshal() size");
+        byte[] expected = toByteArray(marshalled);
+
+        ByteBuffer target = ByteBuffer.allocate(size);
+        assertEquals(size, pdu.marshalInto(target), pdu.getClass().getSimpleName() + " marshalInto() bytes written");
+        assertArrayEquals(expected, target.array());
+
+        Pdu copy = pdu.getClass().getConstructor().newInstance();
+        assertEquals(size, copy.unmarshal(ByteBuffer.wrap(expected)), pdu.getClass().getSimpleName() + " bytes consumed");
+        assertEquals(size, copy.getMarshalledSize());
+        assertArrayEquals(expected, toByteArray(copy.marshal()), pdu.getClass().getSimpleName() + " round trip");
+
+        // padding is relative to start of PDU, not to start of buffer
+        for (int offset : new int[] { 1, 5 })
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(offset + size);
+            buffer.position(offset);
+            pdu.marshal(buffer);
+            assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), offset, offset + size),
+                              pdu.getClass().getSimpleName() + " marshalled at offset " + offset);
+
+            buffer.position(offset);
+            Pdu offsetCopy = pdu.getClass().getConstructor().newInstance();
+            assertEquals(size, offsetCopy.unmarshal(buffer), pdu.getClass().getSimpleName() + " bytes consumed at offset " + offset);
+            assertEquals(offset + size, buffer.position());
+            assertArrayEquals(expected, toByteArray(offsetCopy.marshal()), pdu.getClass().getSimpleName() + " round trip at offset " + offset);
+        }
+    }
+
+    private static byte[] toByteArray(ByteBuffer byteBuffer)
+    {
+        byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void aggregateStatePdu() throws Exception
+    {
+        AggregateStatePdu pdu = new AggregateStatePdu();
+        assertRoundTrip(pdu);
+
+        pdu.getEntityIDList().add(new EntityID().setSiteID(1).setApplicationID(2).setEntityID(3)); // 6 bytes, 2 bytes padding
+        assertRoundTrip(pdu);
+
+        pdu.getAggregateIDList().add(new AggregateIdentifier());
+        pdu.getEntityIDList().add(new EntityID().setEntityID(4));
+        assertRoundTrip(pdu);
+    }
+
+    @Test
+    public void minefieldDataPdu() throws Exception
+    {
+        MinefieldDataPdu pdu = new MinefieldDataPdu();
+        assertRoundTrip(pdu);
+
+        pdu.getSensorTypes().add(new MinefieldSensorType()); // 2 bytes, 2 bytes padding
+        assertRoundTrip(pdu);
+
+        pdu.getSensorTypes().addAll(List.of(new MinefieldSensorType(), new MinefieldSensorType()));
+        assertRoundTrip(pdu);
+    }
+
+    @Test
+    public void signalPdu() throws Exception
+    {
+        for (int length = 0; length <= 8; length++)
+        {
+            byte[] data = new byte[length];
+            Arrays.fill(data, (byte) length);
+            assertRoundTrip(new SignalPdu().setData(data));
+        }
+    }
+
+    @Test
+    public void intercomSignalPdu() throws Exception
+    {
+        for (int length = 0; length <= 8; length++)
+        {
+            byte[] data = new byte[length];
+            Arrays.fill(data, (byte) length);
+            assertRoundTrip(new IntercomSignalPdu().setData(data));
+        }
+    }
+
+    @Test
+    public void truncatedPaddingIsRejected()
+    {
+        ByteBuffer truncated = ByteBuffer.allocate(7);
+        truncated.position(6);
+        assertThrows(BufferUnderflowException.class,
+                     () -> Align.skipPadding(truncated, Align.paddingTo64bits(truncated.position()))); // 2 bytes needed, 1 remains
+    }
+}
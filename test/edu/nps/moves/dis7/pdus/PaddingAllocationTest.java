@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation rate tests for padding, which is written and skipped by position arithmetic rather than by
+ * allocating a byte array on each marshal and unmarshal.  Measured with the per-thread allocation counter
+ * of the HotSpot ThreadMXBean, test is skipped on virtual machines without one.
+ */
+public class PaddingAllocationTest
+{
+    private static final int WARMUP_ITERATIONS   = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeEach
+    public void setUp()
+    {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /** Repeated operation whose allocation is measured */
+    private interface Operation
+    {
+        void run() throws Exception;
+    }
+
+    /** Bytes allocated by current thread per invocation of operation, after warmup
+     * @param operation repeated operation
+     * @return average bytes allocated per invocation */
+    private double allocatedBytesPerOperation(Operation operation) throws Exception
+    {
+        for (int index = 0; index < WARMUP_ITERATIONS; index++)
+            operation.run();
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int index = 0; index < MEASURED_ITERATIONS; index++)
+            operation.run();
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        return (double) (after - before) / MEASURED_ITERATIONS;
+    }
+
+    /** Populated PDUs whose marshal and unmarshal include padding that is not empty */
+    private static Pdu[] paddedPdus()
+    {
+        AggregateStatePdu aggregateStatePdu = new AggregateStatePdu();
+        aggregateStatePdu.getEntityIDList().add(new EntityID().setEntityID(1)); // 2 bytes padding
+
+        MinefieldDataPdu minefieldDataPdu = new MinefieldDataPdu();
+        minefieldDataPdu.getSensorTypes().add(new MinefieldSensorType()); // 2 bytes padding
+
+        return new Pdu[] { aggregateStatePdu, minefieldDataPdu, new SignalPdu().setData(new byte[3]) };
+    }
+
+    @Test
+    public void marshalDoesNotAllocate() throws Exception
+    {
+        for (Pdu pdu : paddedPdus())
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(pdu.getMarshalledSize() + 1);
+            double allocated = allocatedBytesPerOperation(() ->
+            {
+                buffer.clear().position(1); // unaligned offset
+                pdu.marshal(buffer);
+            });
+            assertTrue(allocated < 1.0, pdu.getClass().getSimpleName() + " marshal allocated " + allocated + " bytes per call");
+        }
+    }
+
+    @Test
+    public void marshalToStreamDoesNotAllocate() throws Exception
+    {
+        for (Pdu pdu : paddedPdus())
+        {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(pdu.getMarshalledSize() + 1);
+            DataOutputStream      dos                   = new DataOutputStream(byteArrayOutputStream);
+            double allocated = allocatedBytesPerOperation(() ->
+            {
+                byteArrayOutputStream.reset();
+                pdu.marshal(dos);
+            });
+            assertTrue(allocated < 1.0, pdu.getClass().getSimpleName() + " marshal(DataOutputStream) allocated " + allocated + " bytes per call");
+        }
+    }
+
+    /** Unmarshalling creates list elements and records, so padding primitives used by generated unmarshal methods are measured directly */
+    @Test
+    public void skipPaddingDoesNotAllocate() throws Exception
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        double allocated = allocatedBytesPerOperation(() ->
+        {
+            buffer.clear().position(1);
+            Align.skipPadding(buffer, Align.paddingTo32bits(buffer.position()));
+            Align.skipPadding(buffer, Align.paddingTo64bits(buffer.position()));
+        });
+        assertTrue(allocated < 1.0, "skipPadding(ByteBuffer) allocated " + allocated + " bytes per call");
+
+        byte[] bytes = new byte[8];
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
+        allocated = allocatedBytesPerOperation(() ->
+        {
+            dis.reset();
+            Align.from32bits(1, dis);
+            Align.from64bits(4, dis);
+        });
+        assertTrue(allocated < 1.0, "from32bits(int, DataInputStream) allocated " + allocated + " bytes per call");
+    }
+}
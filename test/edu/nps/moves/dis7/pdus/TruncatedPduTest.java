@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2008-2025, MOVES Institute, Naval Postgraduate School (NPS). All rights reserved.
+ * This work is provided under a BSD open-source license, see project license.html and license.txt
+ */
+
+package edu.nps.moves.dis7.pdus;
+
+import edu.nps.moves.dis7.enumerations.DisPduType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unmarshalling every PDU type from a buffer truncated at each length short of the marshalled size must throw
+ * BufferUnderflowException, whether unmarshal(ByteBuffer) was generated with relative reads or flattened
+ * (-Dxmlpg.flatCodecs=true), rather than report the error to the console and return a partially read PDU.
+ */
+public class TruncatedPduTest
+{
+    /** Unmarshal a fresh PDU of the same type from each truncated prefix of the marshalled bytes
+     * @param pdu populated PDU of interest */
+    private static void assertTruncationRejected(Pdu pdu) throws Exception
+    {
+        byte[] marshalled = pdu.marshal().array();
+        int    pduType    = pdu.getPduType().getValue();
+        assertEquals(marshalled.length, PduSuppliers.create(pduType).unmarshal(ByteBuffer.wrap(marshalled)),
+                     pdu.getClass().getSimpleName() + " complete buffer bytes consumed");
+        for (int length = 0; length < marshalled.length; length++)
+        {
+            ByteBuffer truncated = ByteBuffer.wrap(marshalled, 0, length).slice();
+            assertThrows(BufferUnderflowException.class, () -> PduSuppliers.create(pduType).unmarshal(truncated),
+                         pdu.getClass().getSimpleName() + " truncated to " + length + " of " + marshalled.length + " bytes");
+        }
+    }
+
+    @Test
+    public void truncatedPdusAreRejected() throws Exception
+    {
+        for (DisPduType pduType : DisPduType.values())
+        {
+            if (PduSuppliers.isSupported(pduType.getValue()))
+                assertTruncationRejected(PduSuppliers.create(pduType.getValue()));
+        }
+    }
+
+    @Test
+    public void truncatedPdusWithHeaderLengthAreRejected() throws Exception
+    {
+        for (DisPduType pduType : DisPduType.values())
+        {
+            if (PduSuppliers.isSupported(pduType.getValue()))
+            {
+                Pdu pdu = PduSuppliers.create(pduType.getValue());
+                pdu.setLength((short) pdu.getMarshalledSize()); // checked up front by flattened unmarshal methods
+                assertTruncationRejected(pdu);
+            }
+        }
+    }
+
+    @Test
+    public void truncatedVariableLengthPduIsRejected() throws Exception
+    {
+        EntityStatePdu pdu = new EntityStatePdu();
+        pdu.setMarking("NPS");
+        pdu.getVariableParameters().add(new VariableParameter());
+        pdu.getVariableParameters().add(new VariableParameter());
+        assertTruncationRejected(pdu);
+    }
+}